@@ -1,17 +1,25 @@
 package com.example.employeeservice;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import com.example.employeeservice.config.ApplicationProperties;
 
 @SpringBootApplication
 @EnableAsync
 @EnableCaching
+@EnableConfigurationProperties(ApplicationProperties.class)
 public class EmployeeServiceApplication {
 
     public static void main(String[] args) {
@@ -30,13 +38,40 @@ public class EmployeeServiceApplication {
     }
 
     @Bean(name = "asyncExecutor")
-    public Executor asyncExecutor() {
+    public Executor asyncExecutor(ApplicationProperties properties) {
+        if (properties.getExecutorMode() == ApplicationProperties.ExecutorMode.VIRTUAL) {
+            // A task blocked on file I/O parks its virtual thread instead of holding a pool slot, so there is
+            // no pool to exhaust and no queue to overflow
+            return Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(properties.getThreadNamePrefix(), 0).factory());
+        }
+        properties.validateThreadPoolConfiguration();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("Async-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxThreadPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(properties.getThreadNamePrefix());
         executor.initialize();
         return executor;
     }
+
+    // In virtual mode Tomcat also runs every request on its own virtual thread instead of its worker pool.
+    // Tomcat 9 (Spring Boot 2.7) predates virtual threads and does not support them officially: parts of its
+    // blocking socket I/O run inside synchronized blocks, which pin the carrier thread, so with many slow
+    // clients request handling can still be capped at roughly one request per core. Our own synchronized
+    // sections (GroupCommitter.submit) never block, and the storage locks are ReentrantLocks.
+    //
+    // Tomcat does not shut down an executor it was handed, hence a bean that the context closes.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "employee.executor-mode", havingValue = "virtual")
+    public ExecutorService virtualThreadRequestExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.executor-mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestHandling(
+            @Qualifier("virtualThreadRequestExecutor") ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.employeeservice.config;
 
+import com.example.employeeservice.model.Durability;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -14,9 +15,48 @@ public class ApplicationProperties {
     @NotBlank(message = "Data file path must be specified")
     private String dataFilePath = "data/employees.json";
 
+    @NotBlank(message = "Binary data file path must be specified")
+    private String binaryDataFilePath = "data/employees.bin";
+
+    @NotBlank(message = "Slot file path must be specified")
+    private String slotFilePath = "data/employees.slots";
+
+    @NotBlank(message = "Log file path must be specified")
+    private String logFilePath = "data/employees.log";
+
+    @NotBlank(message = "Snapshot file path must be specified")
+    private String snapshotFilePath = "data/employees.snapshot";
+
+    @Min(value = 0, message = "Compaction log size threshold cannot be negative")
+    private long compactionLogSizeBytes = 64L * 1024 * 1024;
+
+    @Min(value = 0, message = "Compaction record count threshold cannot be negative")
+    private long compactionRecordCount = 100_000;
+
+    @Min(value = 0, message = "Compaction interval cannot be negative")
+    private long compactionIntervalSeconds = 300;
+
+    @NotNull(message = "Storage engine must be specified")
+    private StorageEngine storageEngine = StorageEngine.FILE;
+
+    @NotNull(message = "Storage format must be specified")
+    private StorageFormat storageFormat = StorageFormat.BINARY;
+
+    @NotNull(message = "Durability level must be specified")
+    private Durability durability = Durability.FSYNC_DATA;
+
+    @Min(value = 1, message = "Group commit batch size must be at least 1")
+    private int groupCommitMaxBatchSize = 256;
+
+    @Min(value = 0, message = "Group commit window cannot be negative")
+    private long groupCommitWindowMillis = 1;
+
+    @NotNull(message = "Executor mode must be specified")
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+
     @Min(value = 1, message = "Thread pool size must be at least 1")
     @Max(value = 100, message = "Thread pool size cannot exceed 100")
-    private int maxThreadPoolSize = 100;
+    private int maxThreadPoolSize = 10;
 
     @Min(value = 1, message = "Core pool size must be at least 1")
     private int corePoolSize = 5;
@@ -27,6 +67,9 @@ public class ApplicationProperties {
     @NotNull(message = "Caching enabled flag must be specified")
     private Boolean enableCaching = true;
 
+    @Min(value = 1, message = "Cache size must be at least 1")
+    private int cacheMaxEntries = 10_000;
+
     @Pattern(regexp = "^[a-zA-Z0-9_-]+$", message = "Invalid thread name prefix format")
     private String threadNamePrefix = "Async-";
 
@@ -39,6 +82,78 @@ public class ApplicationProperties {
         }
     }
 
+    public String getBinaryDataFilePath() {
+        try {
+            Paths.get(binaryDataFilePath);
+            return binaryDataFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid binary file path configuration: " + binaryDataFilePath, e);
+        }
+    }
+
+    public String getSlotFilePath() {
+        try {
+            Paths.get(slotFilePath);
+            return slotFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid slot file path configuration: " + slotFilePath, e);
+        }
+    }
+
+    public String getLogFilePath() {
+        try {
+            Paths.get(logFilePath);
+            return logFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid log file path configuration: " + logFilePath, e);
+        }
+    }
+
+    public String getSnapshotFilePath() {
+        try {
+            Paths.get(snapshotFilePath);
+            return snapshotFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid snapshot file path configuration: " + snapshotFilePath, e);
+        }
+    }
+
+    public long getCompactionLogSizeBytes() {
+        return compactionLogSizeBytes;
+    }
+
+    public long getCompactionRecordCount() {
+        return compactionRecordCount;
+    }
+
+    public long getCompactionIntervalSeconds() {
+        return compactionIntervalSeconds;
+    }
+
+    public StorageEngine getStorageEngine() {
+        return storageEngine;
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public int getGroupCommitMaxBatchSize() {
+        return groupCommitMaxBatchSize;
+    }
+
+    public long getGroupCommitWindowMillis() {
+        return groupCommitWindowMillis;
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
     public int getMaxThreadPoolSize() {
         if (maxThreadPoolSize < corePoolSize) {
             throw new ConfigurationException(
@@ -60,6 +175,10 @@ public class ApplicationProperties {
         return enableCaching;
     }
 
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
     public String getThreadNamePrefix() {
         return threadNamePrefix;
     }
@@ -73,6 +192,105 @@ public class ApplicationProperties {
         }
     }
 
+    public void setBinaryDataFilePath(String binaryDataFilePath) {
+        try {
+            Paths.get(binaryDataFilePath);
+            this.binaryDataFilePath = binaryDataFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid binary file path: " + binaryDataFilePath, e);
+        }
+    }
+
+    public void setSlotFilePath(String slotFilePath) {
+        try {
+            Paths.get(slotFilePath);
+            this.slotFilePath = slotFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid slot file path: " + slotFilePath, e);
+        }
+    }
+
+    public void setLogFilePath(String logFilePath) {
+        try {
+            Paths.get(logFilePath);
+            this.logFilePath = logFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid log file path: " + logFilePath, e);
+        }
+    }
+
+    public void setSnapshotFilePath(String snapshotFilePath) {
+        try {
+            Paths.get(snapshotFilePath);
+            this.snapshotFilePath = snapshotFilePath;
+        } catch (InvalidPathException e) {
+            throw new ConfigurationException("Invalid snapshot file path: " + snapshotFilePath, e);
+        }
+    }
+
+    public void setCompactionLogSizeBytes(long compactionLogSizeBytes) {
+        if (compactionLogSizeBytes < 0) {
+            throw new ConfigurationException("Compaction log size threshold cannot be negative");
+        }
+        this.compactionLogSizeBytes = compactionLogSizeBytes;
+    }
+
+    public void setCompactionRecordCount(long compactionRecordCount) {
+        if (compactionRecordCount < 0) {
+            throw new ConfigurationException("Compaction record count threshold cannot be negative");
+        }
+        this.compactionRecordCount = compactionRecordCount;
+    }
+
+    public void setCompactionIntervalSeconds(long compactionIntervalSeconds) {
+        if (compactionIntervalSeconds < 0) {
+            throw new ConfigurationException("Compaction interval cannot be negative");
+        }
+        this.compactionIntervalSeconds = compactionIntervalSeconds;
+    }
+
+    public void setStorageEngine(StorageEngine storageEngine) {
+        if (storageEngine == null) {
+            throw new ConfigurationException("Storage engine cannot be null");
+        }
+        this.storageEngine = storageEngine;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        if (storageFormat == null) {
+            throw new ConfigurationException("Storage format cannot be null");
+        }
+        this.storageFormat = storageFormat;
+    }
+
+    public void setDurability(Durability durability) {
+        if (durability == null) {
+            throw new ConfigurationException("Durability level cannot be null");
+        }
+        this.durability = durability;
+    }
+
+    public void setGroupCommitMaxBatchSize(int groupCommitMaxBatchSize) {
+        if (groupCommitMaxBatchSize < 1) {
+            throw new ConfigurationException("Group commit batch size must be at least 1");
+        }
+        this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+    }
+
+    public void setGroupCommitWindowMillis(long groupCommitWindowMillis) {
+        if (groupCommitWindowMillis < 0) {
+            throw new ConfigurationException("Group commit window cannot be negative");
+        }
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+    }
+
+    public void setExecutorMode(ExecutorMode executorMode) {
+        if (executorMode == null) {
+            throw new ConfigurationException("Executor mode cannot be null");
+        }
+        this.executorMode = executorMode;
+    }
+
     public void setMaxThreadPoolSize(int maxThreadPoolSize) {
         if (maxThreadPoolSize < 1) {
             throw new ConfigurationException("Max thread pool size must be positive");
@@ -101,6 +319,13 @@ public class ApplicationProperties {
         this.enableCaching = enableCaching;
     }
 
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        if (cacheMaxEntries < 1) {
+            throw new ConfigurationException("Cache size must be at least 1");
+        }
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
     public void setThreadNamePrefix(String threadNamePrefix) {
         if (threadNamePrefix == null || threadNamePrefix.trim().isEmpty()) {
             throw new ConfigurationException("Thread name prefix cannot be empty");
@@ -126,6 +351,23 @@ public class ApplicationProperties {
         }
     }
 
+    public enum StorageEngine {
+        FILE, // whole data set rewritten as one data file (see StorageFormat) on every change
+        LOG, // append-only mutation log replayed on startup
+        MAPPED // fixed-width slots in a memory-mapped file, updated in place
+    }
+
+    public enum StorageFormat {
+        BINARY, // compact binary records in binaryDataFilePath
+        JSON // pretty-printed JSON array in dataFilePath; for debugging and hand edits
+    }
+
+    public enum ExecutorMode {
+        PLATFORM, // bounded pool of platform threads (corePoolSize/maxThreadPoolSize/queueCapacity)
+        VIRTUAL // a new virtual thread per task, for asyncExecutor and Tomcat request handling (see the
+                // pinning caveat on EmployeeServiceApplication.virtualThreadRequestExecutor)
+    }
+
     public static class ConfigurationException extends RuntimeException {
         public ConfigurationException(String message) {
             super(message);
@@ -0,0 +1,58 @@
+package com.example.employeeservice.config;
+
+import com.example.employeeservice.model.BinaryEmployeeCodec;
+import com.example.employeeservice.model.EmployeeCodec;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.EmployeeLogRepository;
+import com.example.employeeservice.model.EmployeeMappedRepository;
+import com.example.employeeservice.model.EmployeeRepository;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+import com.example.employeeservice.model.LogCompactionPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class RepositoryConfig {
+
+    @Bean
+    public EmployeeRepository employeeRepository(ApplicationProperties properties, MeterRegistry meterRegistry) {
+        GroupCommitPolicy groupCommitPolicy = new GroupCommitPolicy(
+                properties.getGroupCommitMaxBatchSize(),
+                Duration.ofMillis(properties.getGroupCommitWindowMillis()));
+        String dataFilePath = dataFilePath(properties);
+        EmployeeCodec codec = properties.getStorageFormat() == ApplicationProperties.StorageFormat.BINARY
+                ? new BinaryEmployeeCodec()
+                : new JsonEmployeeCodec();
+        switch (properties.getStorageEngine()) {
+            case LOG:
+                LogCompactionPolicy compactionPolicy = new LogCompactionPolicy(
+                        properties.getCompactionLogSizeBytes(),
+                        properties.getCompactionRecordCount(),
+                        Duration.ofSeconds(properties.getCompactionIntervalSeconds()));
+                return new EmployeeLogRepository(properties.getLogFilePath(), properties.getSnapshotFilePath(),
+                        dataFilePath, codec, properties.getDurability(), groupCommitPolicy,
+                        compactionPolicy, meterRegistry);
+            case MAPPED:
+                return new EmployeeMappedRepository(properties.getSlotFilePath(), dataFilePath, codec,
+                        properties.getDurability(), groupCommitPolicy);
+            case FILE:
+            default:
+                return new EmployeeFileRepository(dataFilePath, codec, properties.getDurability(), groupCommitPolicy);
+        }
+    }
+
+    // With the binary format, an existing JSON data file is converted once on the first start
+    private static String dataFilePath(ApplicationProperties properties) {
+        if (properties.getStorageFormat() == ApplicationProperties.StorageFormat.JSON) {
+            return properties.getDataFilePath();
+        }
+        EmployeeFileRepository.migrate(Paths.get(properties.getDataFilePath()), new JsonEmployeeCodec(),
+                Paths.get(properties.getBinaryDataFilePath()), new BinaryEmployeeCodec(), properties.getDurability());
+        return properties.getBinaryDataFilePath();
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.employeeservice.controller;
 
+import com.example.employeeservice.model.BulkImportReport;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeePage;
+import com.example.employeeservice.model.EmployeeQuery;
+import com.example.employeeservice.model.SalaryReport;
+import com.example.employeeservice.service.EmployeeImportService;
+import com.example.employeeservice.service.EmployeeJsonCache;
 import com.example.employeeservice.service.EmployeeService;
 import com.example.employeeservice.exception.BusinessValidationException;
 import com.example.employeeservice.exception.NotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -17,11 +37,24 @@ import java.util.concurrent.CompletableFuture;
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // Versions restart with the process, so ETags carry a per-process prefix to stay unique across restarts
+    private static final String ETAG_PREFIX = Long.toHexString(new SecureRandom().nextLong());
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeJsonCache employeeJsonCache;
+    private final ObjectWriter employeeWriter;
 
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService,
+            EmployeeJsonCache employeeJsonCache, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.employeeJsonCache = employeeJsonCache;
+        // Same configuration as the regular message converter; flushing is left to the generator's buffer
+        this.employeeWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
@@ -37,11 +70,27 @@ public class EmployeeController {
         }
     }
 
+    // Body is a JSON array or newline-delimited JSON and is read as a stream; the report lists every rejected
+    // record while the valid ones are imported
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<?> importEmployees(InputStream body) {
+        try {
+            BulkImportReport report = employeeImportService.importEmployees(body);
+            return ResponseEntity.ok(report);
+        } catch (BusinessValidationException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error importing employees: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getEmployeeById(@PathVariable int id) {
         try {
             Employee employee = employeeService.getEmployeeById(id);
-            return ResponseEntity.ok(employee);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(employeeJsonCache.toJson(employee));
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
@@ -54,11 +103,25 @@ public class EmployeeController {
     public ResponseEntity<?> getAllEmployees(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) Double minSalary,
-            @RequestParam(required = false) Double maxSalary) {
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
-            List<Employee> employees = employeeService.getEmployees(name, minSalary, maxSalary);
-            return ResponseEntity.ok(employees);
+            // An invalid request is a 400 whatever the client has cached
+            EmployeeQuery query = toQuery(name, minSalary, maxSalary, department, joinedFrom, joinedTo);
+            employeeService.prepareQuery(query, sort, cursor, limit);
+            String etag = etag(employeeService.getEmployeesVersion(department));
+            if (matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            EmployeePage page = employeeService.getEmployees(query, sort, cursor, limit);
+            return toResponse(ResponseEntity.ok().eTag(etag), page);
         } catch (BusinessValidationException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -68,13 +131,20 @@ public class EmployeeController {
     }
 
     @GetMapping("/async")
-    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployeesAsync(
+    public CompletableFuture<ResponseEntity<byte[]>> getAllEmployeesAsync(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) Double minSalary,
-            @RequestParam(required = false) Double maxSalary) {
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
-        return employeeService.getEmployeesAsync(name, minSalary, maxSalary)
-                .thenApply(ResponseEntity::ok)
+        return employeeService.getEmployeesAsync(
+                toQuery(name, minSalary, maxSalary, department, joinedFrom, joinedTo), sort, cursor, limit)
+                .thenApply(page -> toResponse(ResponseEntity.ok(), page))
                 .exceptionally(e -> {
                     if (e.getCause() instanceof BusinessValidationException) {
                         return ResponseEntity.badRequest().build();
@@ -83,6 +153,65 @@ public class EmployeeController {
                 });
     }
 
+    // Same filters and sort as the listing, but the array is written element by element straight from the
+    // repository iterator, so memory per request does not grow with the number of employees returned
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamEmployees(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Double minSalary,
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+            @RequestParam(required = false) String sort) {
+
+        try {
+            Iterator<Employee> employees = employeeService.streamEmployees(
+                    toQuery(name, minSalary, maxSalary, department, joinedFrom, joinedTo), sort);
+            StreamingResponseBody body = out -> writeArray(employees, out);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (BusinessValidationException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error retrieving employees: " + e.getMessage());
+        }
+    }
+
+    // Salary count/total/min/max/average over the matching employees, overall and per department
+    @GetMapping("/stats/salary")
+    public ResponseEntity<?> getSalaryStatistics(
+            @RequestParam(required = false) Double minSalary,
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo) {
+
+        try {
+            SalaryReport report = employeeService.getSalaryReport(
+                    toQuery(null, minSalary, maxSalary, department, joinedFrom, joinedTo));
+            return ResponseEntity.ok(report);
+        } catch (BusinessValidationException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error computing salary statistics: " + e.getMessage());
+        }
+    }
+
+    // Newline-delimited JSON of all employees in id order, serialized from one snapshot while it streams out
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> exportEmployees() {
+        try {
+            Iterator<Employee> employees = employeeService.streamEmployees(new EmployeeQuery(), null);
+            StreamingResponseBody body = out -> writeLines(employees, out);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error exporting employees: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateEmployee(
             @PathVariable int id,
@@ -115,10 +244,17 @@ public class EmployeeController {
     }
 
     @GetMapping("/department/{department}")
-    public ResponseEntity<?> getEmployeesByDepartment(@PathVariable String department) {
+    public ResponseEntity<?> getEmployeesByDepartment(@PathVariable String department,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            employeeService.validateDepartment(department);
+            String etag = etag(employeeService.getEmployeesVersion(department));
+            if (matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<Employee> employees = employeeService.getEmployeesByDepartment(department);
-            return ResponseEntity.ok(employees);
+            return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                    .body(employeeJsonCache.toJsonArray(employees));
         } catch (BusinessValidationException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -126,4 +262,69 @@ public class EmployeeController {
                     .body("Error retrieving employees by department: " + e.getMessage());
         }
     }
+
+    private void writeArray(Iterator<Employee> employees, OutputStream out) throws IOException {
+        try (JsonGenerator generator = employeeWriter.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // the container owns the response stream
+            generator.writeStartArray();
+            while (employees.hasNext()) {
+                employeeWriter.writeValue(generator, employees.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeLines(Iterator<Employee> employees, OutputStream out) throws IOException {
+        try (JsonGenerator generator = employeeWriter.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // lines are terminated explicitly instead
+            while (employees.hasNext()) {
+                employeeWriter.writeValue(generator, employees.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    // The body stays a plain array, assembled from the pre-serialized employees; the cursor for the next page
+    // (if any) travels in a header
+    private ResponseEntity<byte[]> toResponse(ResponseEntity.BodyBuilder response, EmployeePage page) {
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(employeeJsonCache.toJsonArray(page.getEmployees()));
+    }
+
+    private static String etag(long version) {
+        return "\"" + ETAG_PREFIX + "-" + version + "\"";
+    }
+
+    // If-None-Match uses weak comparison and may list several tags or be "*"
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static EmployeeQuery toQuery(String name, Double minSalary, Double maxSalary, String department,
+            LocalDate joinedFrom, LocalDate joinedTo) {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setName(name);
+        query.setMinSalary(minSalary);
+        query.setMaxSalary(maxSalary);
+        query.setDepartment(department);
+        query.setJoinedFrom(joinedFrom);
+        query.setJoinedTo(joinedTo);
+        return query;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,374 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+import com.example.employeeservice.exception.DataAccessException;
+import com.example.employeeservice.exception.EmployeeNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Serves all reads from an immutable EmployeeSnapshot; subclasses only decide how a batch of mutations
+// is made durable. Writes are funnelled through one GroupCommitter so concurrent callers share a single
+// write/fsync.
+//
+// Reads never lock: they dereference the volatile snapshot once and work on that. writeLock only
+// serializes the code that derives and publishes the next snapshot (commits, compaction, startup).
+// A batch is published after persist() returns, so readers never observe a write that is not durable.
+//
+// Every published batch also advances the data version, and stamps it on the departments it touched. Both
+// are bumped only after the batch is visible and its change listeners have run, so data read after a version,
+// cached or not, can never be older than it.
+public abstract class AbstractEmployeeRepository implements EmployeeRepository, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AbstractEmployeeRepository.class);
+
+    protected final ReentrantLock writeLock = new ReentrantLock();
+    private final GroupCommitter<Write, Employee> committer;
+    private final List<Consumer<List<EmployeeChange>>> changeListeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Long> departmentVersions = new ConcurrentHashMap<>();
+    private volatile EmployeeSnapshot snapshot = EmployeeSnapshot.empty();
+    private volatile long version;
+
+    protected AbstractEmployeeRepository(GroupCommitPolicy groupCommitPolicy) {
+        this.committer = new GroupCommitter<>("employee-group-commit", groupCommitPolicy, this::commitBatch);
+    }
+
+    // Must make every mutation in the batch durable, or none of them. next is the state after the batch;
+    // it becomes visible to readers once this returns.
+    protected abstract void persist(List<EmployeeMutation> mutations, EmployeeSnapshot next)
+            throws DataAccessException;
+
+    // Lets an engine reject a record it cannot represent before it joins a batch, so only that write fails.
+    // The record is invalid input rather than a storage failure, hence a BusinessValidationException.
+    protected void checkStorable(Employee employee) throws BusinessValidationException {
+    }
+
+    protected EmployeeSnapshot snapshot() {
+        return snapshot;
+    }
+
+    protected void loadIndex(Collection<Employee> employees) {
+        writeLock.lock();
+        try {
+            EmployeeSnapshot.Builder builder = snapshot.toBuilder();
+            for (Employee employee : employees) {
+                builder.put(employee);
+            }
+            snapshot = builder.build();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Replays already durable mutations (startup recovery) and publishes the result once
+    protected void publish(EmployeeSnapshot.Builder recovered) {
+        writeLock.lock();
+        try {
+            snapshot = recovered.build();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> findAll() throws DataAccessException {
+        return snapshot.all();
+    }
+
+    @Override
+    public Employee findById(int id) throws DataAccessException, EmployeeNotFoundException {
+        Employee employee = snapshot.get(id);
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee not found with id: " + id);
+        }
+        // Callers (e.g. EmployeeService.updateEmployee) mutate the result, so never hand out the shared instance
+        return new Employee(employee);
+    }
+
+    @Override
+    public boolean existsById(int id) throws DataAccessException {
+        return snapshot.contains(id);
+    }
+
+    @Override
+    public List<Employee> findByNameContaining(String name) throws DataAccessException {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name parameter cannot be empty");
+        }
+        return snapshot.byNameContaining(name);
+    }
+
+    // Ordered by salary (then id): the matching slice of the salary index is returned as is
+    @Override
+    public List<Employee> findBySalaryRange(Double fromSalary, Double toSalary) throws DataAccessException {
+        validateSalaryParameters(fromSalary, toSalary);
+        return snapshot.bySalaryRange(fromSalary, toSalary);
+    }
+
+    // Case-insensitive, like the department filter it replaces
+    @Override
+    public List<Employee> findByDepartment(String department) throws DataAccessException {
+        return snapshot.byDepartment(department);
+    }
+
+    // All predicates are applied together; the page is in the query's sort order whichever index drove it
+    @Override
+    public EmployeePage findByQuery(EmployeeQuery query) throws DataAccessException {
+        validateSalaryParameters(query.getMinSalary(), query.getMaxSalary());
+        return snapshot.query(query);
+    }
+
+    // Lazily evaluated over the snapshot current at the time of the call; later writes are not seen
+    @Override
+    public Iterator<Employee> iterateByQuery(EmployeeQuery query) throws DataAccessException {
+        validateSalaryParameters(query.getMinSalary(), query.getMaxSalary());
+        return snapshot.iterate(query);
+    }
+
+    // Computed over the snapshot's columnar projection; the name predicate is not supported
+    @Override
+    public SalaryReport salaryReport(EmployeeQuery query) throws DataAccessException {
+        if (query.hasName()) {
+            throw new IllegalArgumentException("Salary statistics cannot be filtered by name");
+        }
+        validateSalaryParameters(query.getMinSalary(), query.getMaxSalary());
+        return snapshot.salaryReport(query);
+    }
+
+    @Override
+    public Employee save(Employee employee) throws DataAccessException {
+        return await(committer.submit(new Write(Write.Type.SAVE, employee.getId(), employee)));
+    }
+
+    // The whole list is one group-commit request, so it is applied and persisted as a single batch. Records
+    // fail individually (duplicate id); the result maps their list positions to the reason.
+    @Override
+    public Map<Integer, RuntimeException> saveAll(List<Employee> employees) throws DataAccessException {
+        Write write = new Write(employees);
+        await(committer.submit(write));
+        return write.failures;
+    }
+
+    @Override
+    public Employee update(Employee employee) throws DataAccessException {
+        return await(committer.submit(new Write(Write.Type.UPDATE, employee.getId(), employee)));
+    }
+
+    @Override
+    public void delete(int id) throws DataAccessException, EmployeeNotFoundException {
+        await(committer.submit(new Write(Write.Type.DELETE, id, null)));
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public long departmentVersion(String department) {
+        return departmentVersions.getOrDefault(DepartmentIndex.key(department), 0L);
+    }
+
+    @Override
+    public void addChangeListener(Consumer<List<EmployeeChange>> listener) {
+        changeListeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        committer.close();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DataAccessException("Employee write failed", e.getCause());
+        }
+    }
+
+    // Runs on the committer thread. Writes are applied one by one to a builder over the current snapshot so
+    // each can fail on its own (duplicate id, missing employee); the surviving mutations are then persisted
+    // together and their callers released only once the new snapshot is published. If persisting fails the
+    // builder is simply dropped.
+    private void commitBatch(List<GroupCommitter.Entry<Write, Employee>> batch) {
+        List<GroupCommitter.Entry<Write, Employee>> applied = new ArrayList<>(batch.size());
+        List<Employee> results = new ArrayList<>(batch.size());
+        List<EmployeeMutation> mutations = new ArrayList<>(batch.size());
+        writeLock.lock();
+        try {
+            EmployeeSnapshot.Builder builder = snapshot.toBuilder();
+            for (GroupCommitter.Entry<Write, Employee> entry : batch) {
+                try {
+                    results.add(applyWrite(entry.getRequest(), builder, mutations));
+                    applied.add(entry);
+                } catch (RuntimeException e) {
+                    entry.fail(e);
+                }
+            }
+            if (applied.isEmpty()) {
+                return;
+            }
+            try {
+                if (!mutations.isEmpty()) {
+                    EmployeeSnapshot next = builder.build();
+                    persist(mutations, next);
+                    EmployeeSnapshot previous = snapshot;
+                    snapshot = next;
+                    publishChanges(mutations, previous, next);
+                }
+            } catch (RuntimeException e) {
+                applied.forEach(entry -> entry.fail(e));
+                return;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            applied.get(i).complete(results.get(i));
+        }
+    }
+
+    // The batch is already durable and published, so a failing listener must not fail its writers
+    private void publishChanges(List<EmployeeMutation> mutations, EmployeeSnapshot previous, EmployeeSnapshot next) {
+        long batchVersion = version + 1;
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (EmployeeMutation mutation : mutations) {
+            ids.add(mutation.getId());
+        }
+        List<EmployeeChange> changes = new ArrayList<>(ids.size());
+        Set<String> touchedDepartments = new HashSet<>();
+        for (int id : ids) {
+            EmployeeChange change = new EmployeeChange(id, previous.get(id), next.get(id));
+            if (change.getBefore() != null) {
+                touchedDepartments.add(DepartmentIndex.key(change.getBefore().getDepartment()));
+            }
+            if (change.getAfter() != null) {
+                touchedDepartments.add(DepartmentIndex.key(change.getAfter().getDepartment()));
+            }
+            changes.add(change);
+        }
+        // Listeners (cache invalidation) run before the versions move: a reader that sees the new version, and
+        // tags a response with it, must not be served data cached from before the batch
+        for (Consumer<List<EmployeeChange>> listener : changeListeners) {
+            try {
+                listener.accept(changes);
+            } catch (RuntimeException e) {
+                logger.warn("Employee change listener failed", e);
+            }
+        }
+        for (String department : touchedDepartments) {
+            departmentVersions.put(department, batchVersion);
+        }
+        version = batchVersion;
+    }
+
+    private Employee applyWrite(Write write, EmployeeSnapshot.Builder builder, List<EmployeeMutation> mutations) {
+        switch (write.type) {
+            case SAVE:
+                return applySave(write.employee, builder, mutations);
+            case SAVE_ALL: {
+                for (int i = 0; i < write.employees.size(); i++) {
+                    try {
+                        applySave(write.employees.get(i), builder, mutations);
+                    } catch (RuntimeException e) {
+                        write.failures.put(i, e);
+                    }
+                }
+                return null;
+            }
+            case UPDATE: {
+                if (!builder.contains(write.id)) {
+                    throw new EmployeeNotFoundException("Employee not found with id: " + write.id);
+                }
+                checkStorable(write.employee);
+                Employee stored = new Employee(write.employee);
+                builder.put(stored);
+                mutations.add(EmployeeMutation.put(stored));
+                return write.employee;
+            }
+            case DELETE:
+            default: {
+                if (builder.remove(write.id) == null) {
+                    throw new EmployeeNotFoundException("Employee not found with id: " + write.id);
+                }
+                mutations.add(EmployeeMutation.delete(write.id));
+                return null;
+            }
+        }
+    }
+
+    // The id is assigned on the stored copy: the batch may still fail, and the caller's object must not end up
+    // carrying an id that was never stored. The caller gets its own copy of what was stored.
+    private Employee applySave(Employee employee, EmployeeSnapshot.Builder builder, List<EmployeeMutation> mutations) {
+        if (employee.getId() != 0 && builder.contains(employee.getId())) {
+            throw new DataAccessException("Employee already exists with id: " + employee.getId());
+        }
+        checkStorable(employee);
+        Employee stored = new Employee(employee);
+        if (stored.getId() == 0) {
+            stored.setId(builder.maxId() + 1);
+        }
+        builder.put(stored);
+        mutations.add(EmployeeMutation.put(stored));
+        return new Employee(stored);
+    }
+
+    private void validateSalaryParameters(Double fromSalary, Double toSalary) {
+        if (fromSalary != null && fromSalary < 0) {
+            throw new IllegalArgumentException("From salary cannot be negative");
+        }
+        if (toSalary != null && toSalary < 0) {
+            throw new IllegalArgumentException("To salary cannot be negative");
+        }
+        if (fromSalary != null && toSalary != null && fromSalary > toSalary) {
+            throw new IllegalArgumentException("From salary cannot be greater than to salary");
+        }
+    }
+
+    private static class Write {
+        enum Type {
+            SAVE, SAVE_ALL, UPDATE, DELETE
+        }
+
+        private final Type type;
+        private final int id;
+        private final Employee employee;
+        private final List<Employee> employees;
+        private final Map<Integer, RuntimeException> failures;
+
+        private Write(Type type, int id, Employee employee) {
+            this.type = type;
+            this.id = id;
+            this.employee = employee;
+            this.employees = null;
+            this.failures = null;
+        }
+
+        private Write(List<Employee> employees) {
+            this.type = Type.SAVE_ALL;
+            this.id = 0;
+            this.employee = null;
+            this.employees = employees;
+            this.failures = new HashMap<>(); // only touched by the committer thread until the future completes
+        }
+    }
+}
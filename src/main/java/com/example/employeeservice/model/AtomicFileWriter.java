@@ -0,0 +1,82 @@
+package com.example.employeeservice.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Replaces files by writing a sibling temp file, forcing it per the durability level and renaming it
+// over the target, so readers and crash recovery only ever see the old or the new complete file.
+public class AtomicFileWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AtomicFileWriter.class);
+
+    private final Durability durability;
+
+    public AtomicFileWriter(Durability durability) {
+        this.durability = durability;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public void write(Path target, Content content) throws IOException {
+        Path tempPath = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(new FilterOutputStream(Channels.newOutputStream(channel)) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    this.out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush(); // serializers close their target; the channel must stay open for force()
+                }
+            }, 64 * 1024);
+            content.writeTo(out);
+            out.flush();
+            force(channel);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+        Files.move(tempPath, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectoryOf(target);
+    }
+
+    // Appended data only needs its contents forced; file metadata such as mtime can lag
+    public void force(FileChannel channel) throws IOException {
+        if (durability != Durability.NONE) {
+            channel.force(false);
+        }
+    }
+
+    public void syncDirectoryOf(Path file) {
+        if (durability != Durability.FSYNC_DATA_AND_DIRECTORY) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform allows opening a directory (e.g. Windows); rename is still atomic there
+            logger.debug("Directory sync not supported for {}", directory, e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
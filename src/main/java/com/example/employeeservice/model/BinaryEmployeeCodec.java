@@ -0,0 +1,167 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact binary layout: a header (magic, version, record count) followed by the records field by field,
+// dates as epoch days and strings as modified UTF-8. No field names, no whitespace and no text-to-number
+// parsing on load. Values go back through the Employee setters, so loading validates like the JSON path.
+//
+// Version 2 dictionary-encodes departments: the distinct names are written once after the header and each
+// record stores a table index (-1 for none). Version 1 files, with the name inline, are still read.
+public class BinaryEmployeeCodec implements EmployeeCodec {
+    private static final int MAGIC = 0x454D5042; // "EMPB"
+    private static final byte VERSION = 2;
+    private static final byte INLINE_DEPARTMENTS = 1;
+    private static final int NO_DEPARTMENT = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int MAX_UTF_BYTES = 65535; // DataOutput.writeUTF length prefix is an unsigned short
+
+    @Override
+    public void write(List<Employee> employees, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(employees.size());
+        Map<String, Integer> departments = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getDepartment() != null) {
+                departments.putIfAbsent(employee.getDepartment(), departments.size());
+            }
+        }
+        data.writeInt(departments.size());
+        for (String department : departments.keySet()) {
+            data.writeUTF(department);
+        }
+        for (Employee employee : employees) {
+            data.writeInt(employee.getId());
+            writeString(data, employee.getFirstName());
+            writeString(data, employee.getLastName());
+            writeDate(data, employee.getDateOfBirth());
+            data.writeDouble(employee.getSalary());
+            writeDate(data, employee.getJoinDate());
+            data.writeInt(employee.getDepartment() == null
+                    ? NO_DEPARTMENT
+                    : departments.get(employee.getDepartment()));
+        }
+        data.flush();
+    }
+
+    // Validation bounds the names but not the department, which writeUTF would reject along with the whole file
+    @Override
+    public void checkEncodable(Employee employee) throws BusinessValidationException {
+        checkLength("First name", employee.getFirstName());
+        checkLength("Last name", employee.getLastName());
+        checkLength("Department", employee.getDepartment());
+    }
+
+    @Override
+    public List<Employee> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        int magic;
+        try {
+            magic = data.readInt();
+        } catch (EOFException e) {
+            return List.of();
+        }
+        if (magic != MAGIC) {
+            throw new IOException("Not a binary employee file");
+        }
+        int version = data.readByte();
+        if (version != VERSION && version != INLINE_DEPARTMENTS) {
+            throw new IOException("Unsupported binary employee file version: " + version);
+        }
+        int count = data.readInt();
+        String[] departments = new String[0];
+        if (version == VERSION) {
+            departments = new String[data.readInt()];
+            for (int i = 0; i < departments.length; i++) {
+                departments[i] = data.readUTF();
+            }
+        }
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Same order as the JSON properties, so setter cross-checks (join date vs birth date) behave the same
+            Employee employee = new Employee();
+            employee.setId(data.readInt());
+            String firstName = readString(data);
+            if (firstName != null) {
+                employee.setFirstName(firstName);
+            }
+            String lastName = readString(data);
+            if (lastName != null) {
+                employee.setLastName(lastName);
+            }
+            LocalDate dateOfBirth = readDate(data);
+            if (dateOfBirth != null) {
+                employee.setDateOfBirth(dateOfBirth);
+            }
+            employee.setSalary(data.readDouble());
+            LocalDate joinDate = readDate(data);
+            if (joinDate != null) {
+                employee.setJoinDate(joinDate);
+            }
+            String department;
+            if (version == INLINE_DEPARTMENTS) {
+                department = readString(data);
+            } else {
+                int code = data.readInt();
+                if (code < NO_DEPARTMENT || code >= departments.length) {
+                    throw new IOException("Invalid department reference in binary employee file: " + code);
+                }
+                department = code == NO_DEPARTMENT ? null : departments[code];
+            }
+            if (department != null) {
+                employee.setDepartment(department);
+            }
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value == null || value.length() * 3L <= MAX_UTF_BYTES) {
+            return;
+        }
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            bytes += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3; // modified UTF-8, as writeUTF encodes
+        }
+        if (bytes > MAX_UTF_BYTES) {
+            throw new BusinessValidationException(field + " is too long (max " + MAX_UTF_BYTES + " bytes)");
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) {
+            data.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream data, LocalDate value) throws IOException {
+        data.writeLong(value == null ? NO_DATE : value.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInputStream data) throws IOException {
+        long epochDay = data.readLong();
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk import: counts plus one entry per rejected record, identified by its position in the
+// request (0-based) and, when it had one, its id
+public class BulkImportReport {
+    private int received;
+    private int imported;
+    private final List<RecordError> errors = new ArrayList<>();
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return errors.size();
+    }
+
+    public List<RecordError> getErrors() {
+        return errors;
+    }
+
+    public void recordReceived(int count) {
+        received += count;
+    }
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordError(int index, Integer id, String message) {
+        errors.add(new RecordError(index, id, message));
+    }
+
+    public static class RecordError {
+        private final int index;
+        private final Integer id;
+        private final String message;
+
+        public RecordError(int index, Integer id, String message) {
+            this.index = index;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
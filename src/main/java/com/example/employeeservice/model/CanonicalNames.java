@@ -0,0 +1,31 @@
+package com.example.employeeservice.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// One shared instance per distinct name, up to a fixed number of names; past that, names are returned as
+// given and simply not shared. The cap is approximate under concurrent first sightings.
+final class CanonicalNames {
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+    private final int maxNames;
+
+    CanonicalNames(int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    String canonical(String name) {
+        String existing = names.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (names.size() >= maxNames) {
+            return name;
+        }
+        existing = names.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+
+    int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.employeeservice.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Process-wide dictionary of department names. There are only a few dozen departments but one String per
+// employee, so names are canonicalized when an employee is stored in a snapshot: every employee of a
+// department then shares one String instance instead of holding its own copy.
+//
+// Departments also get a small integer code, assigned on first sight per case-insensitive key (the same
+// key DepartmentIndex compares by) and never reused, so indexes and columns can work with int codes that
+// stay valid across snapshots.
+public final class DepartmentDictionary {
+    // Only stored departments are canonicalized, but deleted ones stay; past the cap names are simply not shared
+    private static final int MAX_CANONICAL_NAMES = 10_000;
+
+    private static final CanonicalNames canonicalNames = new CanonicalNames(MAX_CANONICAL_NAMES);
+    private static final ConcurrentMap<String, Integer> codeByName = new ConcurrentHashMap<>(); // exact spelling
+    private static final Map<String, Integer> codeByKey = new ConcurrentHashMap<>(); // case-insensitive
+    private static volatile String[] names = new String[0]; // by code, spelled as first seen
+
+    private DepartmentDictionary() {
+    }
+
+    public static String canonical(String department) {
+        return canonicalNames.canonical(department);
+    }
+
+    // Code of a department, assigning one if it has none yet; only called for departments being stored
+    public static int code(String department) {
+        Integer code = codeByName.get(department);
+        if (code != null) {
+            return code;
+        }
+        String key = DepartmentIndex.key(department);
+        code = codeByKey.get(key);
+        if (code == null) {
+            code = assign(key, department);
+        }
+        codeByName.putIfAbsent(department, code);
+        return code;
+    }
+
+    // Code of a department if it was ever stored, without assigning one (lookups from queries)
+    public static Integer find(String department) {
+        Integer code = codeByName.get(department);
+        return code != null ? code : codeByKey.get(DepartmentIndex.key(department));
+    }
+
+    public static String name(int code) {
+        return names[code];
+    }
+
+    public static int size() {
+        return names.length;
+    }
+
+    private static synchronized int assign(String key, String department) {
+        Integer code = codeByKey.get(key);
+        if (code != null) {
+            return code;
+        }
+        String[] next = Arrays.copyOf(names, names.length + 1);
+        next[names.length] = canonical(department);
+        names = next;
+        codeByKey.put(key, names.length - 1);
+        return names.length - 1;
+    }
+}
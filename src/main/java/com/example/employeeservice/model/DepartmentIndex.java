@@ -0,0 +1,67 @@
+package com.example.employeeservice.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable case-insensitive department -> employees (ascending id) map, stored as an array indexed by
+// DepartmentDictionary code. A batch only rebuilds the lists of the departments it touched; all other
+// lists are shared with the previous snapshot.
+public final class DepartmentIndex {
+    @SuppressWarnings("unchecked")
+    private static final DepartmentIndex EMPTY = new DepartmentIndex((List<Employee>[]) new List<?>[0]);
+
+    private final List<Employee>[] byCode;
+
+    private DepartmentIndex(List<Employee>[] byCode) {
+        this.byCode = byCode;
+    }
+
+    public static DepartmentIndex empty() {
+        return EMPTY;
+    }
+
+    public static String key(String department) {
+        return department == null ? "" : department.toLowerCase(Locale.ROOT);
+    }
+
+    public List<Employee> find(String department) {
+        Integer code = DepartmentDictionary.find(department == null ? "" : department);
+        if (code == null || code >= byCode.length || byCode[code] == null) {
+            return List.of();
+        }
+        return byCode[code];
+    }
+
+    DepartmentIndex withChanges(EmployeeSnapshot previous, Map<Integer, Employee> changes) {
+        Set<Integer> affected = new HashSet<>();
+        for (Map.Entry<Integer, Employee> change : changes.entrySet()) {
+            Employee old = previous.get(change.getKey());
+            if (old != null) {
+                affected.add(codeOf(old));
+            }
+            if (change.getValue() != null) {
+                affected.add(codeOf(change.getValue()));
+            }
+        }
+        List<Employee>[] next = Arrays.copyOf(byCode, Math.max(byCode.length, DepartmentDictionary.size()));
+        for (int department : affected) {
+            List<Employee> current = department < byCode.length && byCode[department] != null
+                    ? byCode[department]
+                    : List.of();
+            List<Employee> members = EmployeeSnapshot.mergeById(current, changes,
+                    employee -> codeOf(employee) == department);
+            next[department] = members.isEmpty() ? null : Collections.unmodifiableList(members);
+        }
+        return new DepartmentIndex(next);
+    }
+
+    // Employees without a department are filed under the empty name, which no real department can have
+    private static int codeOf(Employee employee) {
+        return DepartmentDictionary.code(employee.getDepartment() == null ? "" : employee.getDepartment());
+    }
+}
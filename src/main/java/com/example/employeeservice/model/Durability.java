@@ -0,0 +1,8 @@
+package com.example.employeeservice.model;
+
+// How far a write is pushed towards the disk before it is acknowledged
+public enum Durability {
+    NONE, // left in the OS page cache; a crash can lose recent writes but never leaves a torn data file
+    FSYNC_DATA, // file contents forced to disk
+    FSYNC_DATA_AND_DIRECTORY // contents and the directory entry of created/renamed files forced to disk
+}
@@ -12,6 +12,11 @@ public class Employee {
     private double salary;
     private LocalDate joinDate;
     private String department;
+    // Set once a snapshot holds the instance: it is then shared by every reader and later snapshot, so a
+    // setter call is a bug and fails instead of silently corrupting the indexes. Copies start unfrozen.
+    private boolean frozen;
+    // The stored instance a copy was taken from, until a setter changes the copy
+    private Employee origin;
 
     // Minimum and maximum constants
     private static final int MIN_NAME_LENGTH = 2;
@@ -35,6 +40,18 @@ public class Employee {
         setDepartment(department);
     }
 
+    // Copy constructor (fields are already validated on the source)
+    public Employee(Employee other) {
+        this.id = other.id;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.dateOfBirth = other.dateOfBirth;
+        this.salary = other.salary;
+        this.joinDate = other.joinDate;
+        this.department = other.department;
+        this.origin = other.frozen ? other : other.origin;
+    }
+
     // Getters
     public int getId() {
         return id;
@@ -66,6 +83,7 @@ public class Employee {
 
     // Setters with validation
     public void setId(int id) {
+        checkMutable();
         if (id < 0) {
             throw new BusinessValidationException("ID must be a positive number");
         }
@@ -73,6 +91,7 @@ public class Employee {
     }
 
     public void setFirstName(String firstName) {
+        checkMutable();
         if (firstName == null || firstName.trim().isEmpty()) {
             throw new BusinessValidationException("First name is required");
         }
@@ -86,6 +105,7 @@ public class Employee {
     }
 
     public void setLastName(String lastName) {
+        checkMutable();
         if (lastName == null || lastName.trim().isEmpty()) {
             throw new BusinessValidationException("Last name is required");
         }
@@ -99,6 +119,7 @@ public class Employee {
     }
 
     public void setDateOfBirth(LocalDate dateOfBirth) {
+        checkMutable();
         if (dateOfBirth == null) {
             throw new BusinessValidationException("Date of birth is required");
         }
@@ -110,6 +131,7 @@ public class Employee {
     }
 
     public void setSalary(double salary) {
+        checkMutable();
         if (salary < MIN_SALARY) {
             throw new BusinessValidationException(
                     String.format("Salary cannot be negative (min: %.2f)", MIN_SALARY));
@@ -122,6 +144,7 @@ public class Employee {
     }
 
     public void setJoinDate(LocalDate joinDate) {
+        checkMutable();
         if (joinDate == null) {
             throw new BusinessValidationException("Join date is required");
         }
@@ -136,12 +159,39 @@ public class Employee {
     }
 
     public void setDepartment(String department) {
+        checkMutable();
         if (department == null || department.trim().isEmpty()) {
             throw new BusinessValidationException("Department is required");
         }
         this.department = department.trim();
     }
 
+    void freeze() {
+        frozen = true;
+    }
+
+    // Canonical instance: all stored employees of a department share one String. Done when a snapshot takes
+    // the employee rather than in the setter, so input that is rejected never reaches the dictionary.
+    void canonicalizeDepartment() {
+        if (department != null) {
+            department = DepartmentDictionary.canonical(department);
+        }
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Employee " + id + " is held by a snapshot; modify a copy instead");
+        }
+        origin = null;
+    }
+
+    // The stored, immutable instance holding exactly this state: the employee itself if a snapshot holds it,
+    // or the one an unchanged copy was taken from; null otherwise. Lets callers key derived data (such as
+    // EmployeeJsonCache) by instance identity instead of comparing fields.
+    public Employee storedInstance() {
+        return frozen ? this : origin;
+    }
+
     // Validation method for complete object
     public void validate() {
         // All setters already validate, but this provides explicit validation point
@@ -0,0 +1,27 @@
+package com.example.employeeservice.model;
+
+// Net effect of a committed batch on one employee: the version readers saw before and the one they see
+// now. before is null for a new employee, after is null for a deleted one.
+public final class EmployeeChange {
+    private final int id;
+    private final Employee before;
+    private final Employee after;
+
+    EmployeeChange(int id, Employee before, Employee after) {
+        this.id = id;
+        this.before = before;
+        this.after = after;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Employee getBefore() {
+        return before;
+    }
+
+    public Employee getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+// On-disk encoding of the whole employee set used by EmployeeFileRepository
+public interface EmployeeCodec {
+
+    void write(List<Employee> employees, OutputStream out) throws IOException;
+
+    // An empty input is an empty employee set
+    List<Employee> read(InputStream in) throws IOException;
+
+    // Rejects an employee this encoding cannot write, so it fails on its own instead of failing a whole write
+    default void checkEncodable(Employee employee) throws BusinessValidationException {
+    }
+}
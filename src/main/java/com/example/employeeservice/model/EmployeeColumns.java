@@ -0,0 +1,157 @@
+package com.example.employeeservice.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+// Columnar projection of the fields analytic scans look at, aligned row for row with the snapshot's
+// id-ordered list: ids, salaries, join dates as epoch days and departments as dictionary codes. Scans run
+// over these primitive arrays instead of chasing Employee, LocalDate and String references.
+//
+// Department codes come from DepartmentDictionary, so they stay valid across snapshots.
+public final class EmployeeColumns {
+    private static final EmployeeColumns EMPTY =
+            new EmployeeColumns(new int[0], new double[0], new int[0], new int[0]);
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final int NO_DEPARTMENT = -1;
+
+    private final int[] ids;
+    private final double[] salaries;
+    private final int[] joinDays;
+    private final int[] departmentCodes;
+
+    private EmployeeColumns(int[] ids, double[] salaries, int[] joinDays, int[] departmentCodes) {
+        this.ids = ids;
+        this.salaries = salaries;
+        this.joinDays = joinDays;
+        this.departmentCodes = departmentCodes;
+    }
+
+    public static EmployeeColumns empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Rows (positions in the id-ordered list) matching every predicate of the query except the name, which
+    // has no column; ascending
+    public int[] filter(EmployeeQuery query) {
+        double minSalary = query.getMinSalary() == null ? Double.NEGATIVE_INFINITY : query.getMinSalary();
+        double maxSalary = query.getMaxSalary() == null ? Double.POSITIVE_INFINITY : query.getMaxSalary();
+        boolean byDate = query.hasJoinDateRange();
+        long joinedFrom = query.getJoinedFrom() == null ? Long.MIN_VALUE : query.getJoinedFrom().toEpochDay();
+        long joinedTo = query.getJoinedTo() == null ? Long.MAX_VALUE : query.getJoinedTo().toEpochDay();
+        int department = NO_DEPARTMENT;
+        if (query.hasDepartment()) {
+            Integer code = DepartmentDictionary.find(query.getDepartment());
+            if (code == null) {
+                return new int[0];
+            }
+            department = code;
+        }
+
+        int[] rows = new int[ids.length];
+        int count = 0;
+        for (int row = 0; row < ids.length; row++) {
+            double salary = salaries[row];
+            if (salary < minSalary || salary > maxSalary) {
+                continue;
+            }
+            if (department != NO_DEPARTMENT && departmentCodes[row] != department) {
+                continue;
+            }
+            if (byDate) {
+                int day = joinDays[row];
+                if (day == NO_DATE || day < joinedFrom || day > joinedTo) {
+                    continue;
+                }
+            }
+            rows[count++] = row;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // One pass over the matching rows, accumulating per department code
+    public SalaryReport salaryReport(EmployeeQuery query) {
+        int[] rows = filter(query);
+        int codes = DepartmentDictionary.size(); // every code in the rows was assigned before they were built
+        long[] counts = new long[codes];
+        double[] totals = new double[codes];
+        double[] minimums = new double[codes];
+        double[] maximums = new double[codes];
+        Arrays.fill(minimums, Double.POSITIVE_INFINITY);
+        Arrays.fill(maximums, Double.NEGATIVE_INFINITY);
+        SalaryStatistics overall = new SalaryStatistics();
+        SalaryStatistics unassigned = new SalaryStatistics();
+        for (int row : rows) {
+            double salary = salaries[row];
+            overall.add(salary);
+            int code = departmentCodes[row];
+            if (code == NO_DEPARTMENT) {
+                unassigned.add(salary);
+                continue;
+            }
+            counts[code]++;
+            totals[code] += salary;
+            minimums[code] = Math.min(minimums[code], salary);
+            maximums[code] = Math.max(maximums[code], salary);
+        }
+        SalaryReport report = new SalaryReport(overall);
+        for (int code = 0; code < codes; code++) {
+            if (counts[code] > 0) {
+                report.addDepartment(DepartmentDictionary.name(code),
+                        new SalaryStatistics(counts[code], totals[code], minimums[code], maximums[code]));
+            }
+        }
+        if (unassigned.getCount() > 0) {
+            report.addDepartment("", unassigned);
+        }
+        return report;
+    }
+
+    // Same merge as EmployeeSnapshot.mergeById, but runs of unchanged rows are block-copied column by column
+    EmployeeColumns withChanges(Map<Integer, Employee> changes) {
+        int capacity = ids.length + changes.size();
+        int[] nextIds = new int[capacity];
+        double[] nextSalaries = new double[capacity];
+        int[] nextJoinDays = new int[capacity];
+        int[] nextDepartments = new int[capacity];
+        int from = 0;
+        int size = 0;
+        for (Map.Entry<Integer, Employee> change : changes.entrySet()) {
+            int position = Arrays.binarySearch(ids, from, ids.length, change.getKey());
+            int end = position >= 0 ? position : -position - 1;
+            int run = end - from;
+            System.arraycopy(ids, from, nextIds, size, run);
+            System.arraycopy(salaries, from, nextSalaries, size, run);
+            System.arraycopy(joinDays, from, nextJoinDays, size, run);
+            System.arraycopy(departmentCodes, from, nextDepartments, size, run);
+            size += run;
+            from = position >= 0 ? position + 1 : end; // the old row of a changed employee is dropped
+            Employee employee = change.getValue();
+            if (employee != null) {
+                nextIds[size] = employee.getId();
+                nextSalaries[size] = employee.getSalary();
+                nextJoinDays[size] = epochDay(employee.getJoinDate());
+                nextDepartments[size] = employee.getDepartment() == null
+                        ? NO_DEPARTMENT
+                        : DepartmentDictionary.code(employee.getDepartment());
+                size++;
+            }
+        }
+        int run = ids.length - from;
+        System.arraycopy(ids, from, nextIds, size, run);
+        System.arraycopy(salaries, from, nextSalaries, size, run);
+        System.arraycopy(joinDays, from, nextJoinDays, size, run);
+        System.arraycopy(departmentCodes, from, nextDepartments, size, run);
+        size += run;
+        return new EmployeeColumns(Arrays.copyOf(nextIds, size), Arrays.copyOf(nextSalaries, size),
+                Arrays.copyOf(nextJoinDays, size), Arrays.copyOf(nextDepartments, size));
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.employeeservice.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+// Opaque position in a sorted listing: the sort order plus the key and id of the last employee returned.
+// Resuming seeks to the first employee after that position, so pages neither repeat nor skip entries
+// when employees are added or removed in between.
+public final class EmployeeCursor {
+    private final EmployeeSort sort;
+    private final String key;
+    private final int id;
+
+    private EmployeeCursor(EmployeeSort sort, String key, int id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    static EmployeeCursor after(EmployeeSort sort, Employee employee) {
+        return new EmployeeCursor(sort, sort.keyOf(employee), employee.getId());
+    }
+
+    public static EmployeeCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // sort|id|key - the key goes last because it may contain the separator
+            String[] parts = decoded.split("\\|", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            EmployeeSort sort = EmployeeSort.valueOf(parts[0]);
+            int id = Integer.parseInt(parts[1]);
+            sort.probe(parts[2], id); // reject keys that cannot be positioned
+            return new EmployeeCursor(sort, parts[2], id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public EmployeeSort getSort() {
+        return sort;
+    }
+
+    Employee probe() {
+        return sort.probe(key, id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeCursor)) {
+            return false;
+        }
+        EmployeeCursor other = (EmployeeCursor) o;
+        return sort == other.sort && id == other.id && Objects.equals(key, other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sort, key, id);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Open-addressing id -> Employee table keyed on primitive ints, so lookups never box
+public class EmployeeIndex {
+    private static final int EMPTY = -1; // ids are never negative (see Employee.setId)
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Employee[] values;
+    private int mask;
+    private int size;
+    private int maxId;
+
+    public EmployeeIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    public EmployeeIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public EmployeeIndex(EmployeeIndex other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.mask = other.mask;
+        this.size = other.size;
+        this.maxId = other.maxId;
+    }
+
+    public Employee get(int id) {
+        int slot = slotOf(id);
+        return slot < 0 ? null : values[slot];
+    }
+
+    public boolean containsKey(int id) {
+        return slotOf(id) >= 0;
+    }
+
+    public Employee put(Employee employee) {
+        int id = employee.getId();
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = hash(id);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                Employee previous = values[slot];
+                values[slot] = employee;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = employee;
+        size++;
+        maxId = Math.max(maxId, id);
+        return null;
+    }
+
+    public Employee remove(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return null;
+        }
+        Employee removed = values[slot];
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Highest id put since this index (or the one it was copied from) was built. Deletes never lower it, but it
+    // is not persisted either: on restart it is rebuilt from whatever the engine replays, so an id deleted above
+    // the highest surviving one can be issued again (by the log engine once compaction has dropped its records).
+    public int maxId() {
+        return maxId;
+    }
+
+    // All employees in ascending id order
+    public List<Employee> values() {
+        int[] ids = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                ids[n++] = key;
+            }
+        }
+        Arrays.sort(ids);
+        List<Employee> result = new ArrayList<>(size);
+        for (int id : ids) {
+            result.add(values[slotOf(id)]);
+        }
+        return result;
+    }
+
+    private int slotOf(int id) {
+        if (id < 0) {
+            return -1;
+        }
+        int slot = hash(id);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Employee[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Employee[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.DataAccessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Append-only storage engine: each mutation is one newline-terminated compact JSON record.
+// The employee set is rebuilt on startup from the last snapshot plus the log written after it.
+//
+// Compaction rotates appends onto a ".next" log under the lock, writes the snapshot without the
+// lock, then drops the old log. Recovery replays snapshot, log and ".next" in that order, which is
+// safe at any crash point because records carry full values and replaying them is idempotent.
+// Nothing is ever appended to the old log while ".next" exists, so ".next" always holds the newest
+// records; a compaction that fails after rotating leaves ".next" as the live log and the next one
+// picks up from there instead of rotating again.
+public class EmployeeLogRepository extends AbstractEmployeeRepository {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeLogRepository.class);
+    private static final byte RECORD_SEPARATOR = '\n';
+
+    private final Path logPath;
+    private final Path nextLogPath;
+    private final Path snapshotPath;
+    private final ObjectReader recordReader;
+    private final ObjectWriter recordWriter;
+    private final ObjectReader snapshotReader;
+    private final ObjectWriter snapshotWriter;
+    private final AtomicFileWriter fileWriter;
+    private final LogCompactionPolicy compactionPolicy;
+    private final ScheduledExecutorService compactor;
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+    private final Timer compactionTimer;
+    private final Counter compactionFailures;
+    private FileChannel logChannel;
+    private volatile long logRecords; // records in the file logChannel appends to; written under writeLock
+    private boolean rotated; // logChannel appends to ".next" and the old log is still in place
+    private long rotatedRecords; // records in the old log while rotated
+
+    public EmployeeLogRepository(String logFilePath, String snapshotFilePath, String seedFilePath,
+            EmployeeCodec seedCodec, Durability durability, GroupCommitPolicy groupCommitPolicy,
+            LogCompactionPolicy compactionPolicy, MeterRegistry meterRegistry) {
+        super(groupCommitPolicy);
+        this.logPath = Paths.get(logFilePath);
+        this.nextLogPath = logPath.resolveSibling(logPath.getFileName() + ".next");
+        this.snapshotPath = Paths.get(snapshotFilePath);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.recordReader = objectMapper.readerFor(EmployeeMutation.class);
+        this.recordWriter = objectMapper.writerFor(EmployeeMutation.class);
+        this.snapshotReader = objectMapper.readerFor(Employee.class);
+        this.snapshotWriter = objectMapper.writerFor(Employee.class);
+        this.fileWriter = new AtomicFileWriter(durability);
+        this.compactionPolicy = compactionPolicy;
+        this.compactionTimer = meterRegistry.timer("employee.store.compaction");
+        this.compactionFailures = meterRegistry.counter("employee.store.compaction.failures");
+        meterRegistry.gauge("employee.store.log.records", this, repository -> repository.logRecords);
+
+        initializeStore(Paths.get(seedFilePath), seedCodec);
+        EmployeeSnapshot.Builder recovered = snapshot().toBuilder();
+        this.<Employee>readRecords(snapshotPath, snapshotReader, recovered::put, true);
+        Consumer<EmployeeMutation> replay = mutation -> {
+            recovered.apply(mutation);
+            logRecords++;
+        };
+        long validLength = readRecords(logPath, recordReader, replay, false);
+        boolean interrupted = Files.exists(nextLogPath);
+        if (interrupted) {
+            readRecords(nextLogPath, recordReader, replay, false);
+        }
+        publish(recovered);
+        if (interrupted) {
+            // A compaction was interrupted; finish it before accepting writes
+            foldIntoSnapshot();
+            validLength = 0;
+        }
+        this.logChannel = openForAppend(validLength);
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = compactionPolicy.getInterval().toMillis();
+        if (intervalMillis > 0) {
+            compactor.scheduleWithFixedDelay(this::compactIfDirty, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // First start on this engine: import the existing data file as the initial snapshot
+    private void initializeStore(Path seedPath, EmployeeCodec seedCodec) {
+        try {
+            Path path = logPath.toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            if (!Files.exists(path) && !Files.exists(snapshotPath)) {
+                // Written from the built set rather than as read, so the snapshot has the same shape as one
+                // written by compaction: id order, each id once (a later duplicate wins, as on replay)
+                EmployeeSnapshot.Builder seeded = EmployeeSnapshot.empty().toBuilder();
+                readSeedFile(seedPath, seedCodec).forEach(seeded::put);
+                writeSnapshot(seeded.build().all());
+            }
+            if (!Files.exists(path)) {
+                Files.createFile(path);
+                fileWriter.syncDirectoryOf(path);
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to initialize employee log", e);
+        }
+    }
+
+    private List<Employee> readSeedFile(Path seedPath, EmployeeCodec seedCodec) throws IOException {
+        if (!Files.exists(seedPath)) {
+            return List.of();
+        }
+        try (InputStream in = Files.newInputStream(seedPath)) {
+            return seedCodec.read(in);
+        }
+    }
+
+    // Returns the length of the intact prefix. A torn or unreadable log tail is dropped;
+    // snapshots are written atomically, so damage there is fatal.
+    private <T> long readRecords(Path path, ObjectReader reader, Consumer<T> consumer, boolean strict) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long validLength = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != RECORD_SEPARATOR) {
+                    line.write(b);
+                    continue;
+                }
+                byte[] record = line.toByteArray();
+                line.reset();
+                try {
+                    consumer.accept(reader.readValue(record));
+                } catch (IOException e) {
+                    if (strict) {
+                        throw new DataAccessException("Corrupt record in " + path + " at offset " + validLength, e);
+                    }
+                    logger.warn("Discarding {} from offset {}: unreadable record", path, validLength, e);
+                    return validLength;
+                }
+                validLength += record.length + 1;
+            }
+            if (line.size() > 0) {
+                logger.warn("Discarding {} trailing bytes of incomplete record in {}", line.size(), path);
+            }
+            logger.info("Loaded {} ({} bytes)", path, validLength);
+            return validLength;
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to read " + path, e);
+        }
+    }
+
+    private FileChannel openForAppend(long validLength) {
+        try {
+            FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (channel.size() > validLength) {
+                channel.truncate(validLength);
+            }
+            channel.position(validLength);
+            return channel;
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to open employee log for writing", e);
+        }
+    }
+
+    // The whole batch goes out as one write and one force
+    @Override
+    protected void persist(List<EmployeeMutation> mutations, EmployeeSnapshot next) throws DataAccessException {
+        long start = -1;
+        try {
+            start = logChannel.position();
+            ByteArrayOutputStream records = new ByteArrayOutputStream(256 * mutations.size());
+            for (EmployeeMutation mutation : mutations) {
+                records.write(recordWriter.writeValueAsBytes(mutation));
+                records.write(RECORD_SEPARATOR);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            while (buffer.hasRemaining()) {
+                logChannel.write(buffer);
+            }
+            fileWriter.force(logChannel);
+            logRecords += mutations.size();
+            if (compactionPolicy.isExceeded(logChannel.position(), logRecords)) {
+                requestCompaction();
+            }
+        } catch (IOException e) {
+            rollbackTo(start);
+            throw new DataAccessException("Failed to append to employee log", e);
+        }
+    }
+
+    // Never leave a partial record behind, or every later append would sit after a corrupt one
+    private void rollbackTo(long position) {
+        if (position < 0) {
+            return;
+        }
+        try {
+            logChannel.truncate(position);
+            logChannel.position(position);
+        } catch (IOException e) {
+            logger.error("Failed to roll back partial employee log record at offset {}", position, e);
+        }
+    }
+
+    private void requestCompaction() {
+        if (compactionPending.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    private void compactIfDirty() {
+        if (logRecords > 0) {
+            compact();
+        }
+    }
+
+    public void compact() {
+        long started = System.nanoTime();
+        List<Employee> employees;
+        writeLock.lock();
+        try {
+            compactionPending.set(false);
+            if (!rotated) {
+                rotate();
+            }
+            // Everything up to now, which covers the old log (and possibly some of ".next", replayed again on
+            // top harmlessly); immutable, so safe to write unlocked
+            employees = snapshot().all();
+        } catch (IOException e) {
+            compactionFailures.increment();
+            logger.error("Failed to rotate employee log for compaction", e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            writeSnapshot(employees);
+        } catch (IOException e) {
+            compactionFailures.increment();
+            logger.error("Failed to write employee snapshot; keeping the log", e);
+            restoreLog();
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            retire();
+        } catch (IOException e) {
+            compactionFailures.increment();
+            logger.error("Failed to retire compacted employee log; the next compaction retries", e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+        long elapsed = System.nanoTime() - started;
+        compactionTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Compacted employee log into a snapshot of {} employees in {} ms",
+                employees.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Only called while not rotated, so any ".next" on disk is a leftover and truncating it loses nothing
+    private void rotate() throws IOException {
+        // Readable as well: restoreLog copies it back onto the old log if the snapshot cannot be written
+        FileChannel next = FileChannel.open(nextLogPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        fileWriter.syncDirectoryOf(nextLogPath);
+        FileChannel previous = logChannel;
+        logChannel = next;
+        rotated = true;
+        rotatedRecords = logRecords;
+        logRecords = 0;
+        closeQuietly(previous);
+    }
+
+    // Replaces the old log with ".next". Safe to repeat after a failure at any step: once ".next" is gone
+    // the rename has happened and only the directory sync is left.
+    private void retire() throws IOException {
+        if (Files.exists(nextLogPath)) {
+            Files.deleteIfExists(logPath);
+            Files.move(nextLogPath, logPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        fileWriter.syncDirectoryOf(logPath);
+        rotated = false;
+        rotatedRecords = 0;
+    }
+
+    // Snapshot failed after rotation: append ".next" back onto the old log so the next attempt starts clean.
+    // ".next" is deleted before appends move to the old log, or recovery would replay its records over newer
+    // ones; if anything fails on the way, ".next" simply stays the live log.
+    private void restoreLog() {
+        writeLock.lock();
+        try (FileChannel previous = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long size = logChannel.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += logChannel.transferTo(transferred, size - transferred, previous);
+            }
+            fileWriter.force(previous);
+            FileChannel restored = openForAppend(previous.size());
+            try {
+                Files.delete(nextLogPath);
+                fileWriter.syncDirectoryOf(nextLogPath);
+            } catch (IOException e) {
+                closeQuietly(restored);
+                throw e;
+            }
+            FileChannel next = logChannel;
+            logChannel = restored;
+            rotated = false;
+            logRecords += rotatedRecords;
+            rotatedRecords = 0;
+            closeQuietly(next);
+        } catch (IOException | DataAccessException e) {
+            logger.error("Failed to restore employee log after an aborted compaction; appending to {} until the "
+                    + "next compaction", nextLogPath, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close employee log channel", e);
+        }
+    }
+
+    private void foldIntoSnapshot() {
+        try {
+            writeSnapshot(findAll());
+            Files.deleteIfExists(logPath);
+            Files.deleteIfExists(nextLogPath);
+            Files.createFile(logPath);
+            fileWriter.syncDirectoryOf(logPath);
+            logRecords = 0;
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to complete interrupted employee log compaction", e);
+        }
+    }
+
+    private void writeSnapshot(List<Employee> employees) throws IOException {
+        // With any durability above NONE the snapshot reaches the disk before the log behind it is deleted
+        fileWriter.write(snapshotPath, out -> {
+            for (Employee employee : employees) {
+                out.write(snapshotWriter.writeValueAsBytes(employee));
+                out.write(RECORD_SEPARATOR);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            logChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close employee log", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,569 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+import com.example.employeeservice.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Storage engine that keeps every employee in its own fixed-width slot of a memory-mapped file. A write
+// locates the slot through the id -> slot map and touches just a few slots, so its cost does not depend on
+// headcount; released slots go on a free list and are reused before the file grows.
+//
+// Slots are 512 bytes and sector aligned, so a slot never straddles a page, and each carries a CRC of its
+// contents: a slot torn by a crash is detected on load and skipped.
+//
+// An update of an existing employee always fits its slot, so it is rewritten in place: one slot, one force,
+// no header write. That relies on the device writing an aligned 512-byte sector as a unit; if a crash tears
+// the slot anyway, the CRC drops that employee on load rather than loading a mix of two versions.
+// New employees and deletes go into free slots instead (a tombstone for a delete), stamped with the batch's
+// sequence number, and commit by forcing the new sequence into the header; on load only records up to the
+// committed sequence count, the newest one per id. A batch that fails puts the old versions back in place,
+// so none of its writes survive; a crash before it is acknowledged may keep some of its updates and not
+// others, which is fine since none of them was acknowledged. The slots a commit supersedes are released
+// afterwards: old versions first, tombstones only once the versions they hide are durably free.
+public class EmployeeMappedRepository extends AbstractEmployeeRepository {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeMappedRepository.class);
+
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION = 2;
+    private static final int SLOT_SIZE = 512;
+    private static final int HEADER_SIZE = SLOT_SIZE; // keeps every slot aligned
+    private static final int INITIAL_SLOTS = 1024;
+
+    // Header layout
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_SLOT_SIZE = 8;
+    private static final int COMMITTED_SEQUENCE = 16; // long: sequence of the last committed batch
+
+    // Slot layout
+    private static final int STATUS = 0; // byte: FREE, USED or DELETED
+    private static final int CRC = 4; // int: CRC32 of [ID, END)
+    private static final int ID = 8;
+    private static final int SALARY = 12;
+    private static final int DATE_OF_BIRTH = 20;
+    private static final int JOIN_DATE = 28;
+    private static final int FIRST_NAME = 36; // each string: short byte length (-1 = null) + UTF-8 bytes
+    private static final int LAST_NAME = FIRST_NAME + 2 + 150;
+    private static final int DEPARTMENT = LAST_NAME + 2 + 150;
+    private static final int SEQUENCE = DEPARTMENT + 2 + 150; // long: batch that wrote the slot
+    private static final int END = SEQUENCE + 8;
+    private static final int NAME_BYTES = 150; // 50 characters (Employee.MAX_NAME_LENGTH) of up to 3 bytes
+    private static final int DEPARTMENT_BYTES = 150;
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+    private static final byte DELETED = 2; // tombstone: the batch deleted the id
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final Path filePath;
+    private final Durability durability;
+    private final SlotTable slotById = new SlotTable();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity; // slots
+    private int usedSlots; // high-water mark: slots at or above it have never been written
+    private long committedSequence;
+    private boolean failed; // a failed batch could not be undone on disk; only a restart can tell what stuck
+
+    public EmployeeMappedRepository(String filePath, String seedFilePath, EmployeeCodec seedCodec,
+            Durability durability, GroupCommitPolicy groupCommitPolicy) {
+        super(groupCommitPolicy);
+        this.filePath = Paths.get(filePath);
+        this.durability = durability;
+        writeLock.lock();
+        try {
+            Path path = this.filePath.toAbsolutePath();
+            if (!Files.exists(path)) {
+                create(path, Paths.get(seedFilePath), seedCodec);
+            }
+            open(path);
+            load();
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to open employee slot file " + filePath, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Fields have to fit their slot; checked per write so an oversized record fails alone
+    @Override
+    protected void checkStorable(Employee employee) throws BusinessValidationException {
+        checkLength("First name", employee.getFirstName(), NAME_BYTES);
+        checkLength("Last name", employee.getLastName(), NAME_BYTES);
+        checkLength("Department", employee.getDepartment(), DEPARTMENT_BYTES);
+    }
+
+    @Override
+    protected void persist(List<EmployeeMutation> mutations, EmployeeSnapshot next) throws DataAccessException {
+        if (failed) {
+            throw new DataAccessException("Employee slot file is in an unknown state after a failed write; "
+                    + "restart to recover it");
+        }
+        // Net effect per id (null = deleted); intermediate versions within the batch never reach the file
+        Map<Integer, Employee> changes = new LinkedHashMap<>();
+        for (EmployeeMutation mutation : mutations) {
+            if (mutation.getType() == EmployeeMutation.Type.PUT) {
+                changes.put(mutation.getId(), mutation.getEmployee());
+            } else if (slotById.get(mutation.getId()) != SlotTable.NONE) {
+                changes.put(mutation.getId(), null);
+            } else {
+                changes.remove(mutation.getId()); // created and deleted within the batch
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Updates of stored employees are rewritten in place; the rest need fresh slots and a header commit
+        Map<Integer, Employee> fresh = new LinkedHashMap<>();
+        List<Integer> rewritten = new ArrayList<>();
+        for (Map.Entry<Integer, Employee> change : changes.entrySet()) {
+            int slot = slotById.get(change.getKey());
+            if (change.getValue() != null && slot != SlotTable.NONE) {
+                rewritten.add(slot);
+            } else {
+                fresh.put(change.getKey(), change.getValue());
+            }
+        }
+
+        // 1. Allocate (and grow) for the whole batch before anything is written
+        int usedBefore = usedSlots;
+        List<Integer> allocated = new ArrayList<>(fresh.size());
+        try {
+            for (int i = 0; i < fresh.size(); i++) {
+                allocated.add(allocate());
+            }
+        } catch (IOException e) {
+            releaseAllocation(allocated, usedBefore);
+            throw new DataAccessException("Failed to allocate employee slots", e);
+        }
+
+        // 2. Rewrite updated slots in place and force them; write the new records into the allocated slots,
+        // force them, then commit those through the header
+        long sequence = committedSequence + 1;
+        try {
+            for (int slot : rewritten) {
+                int id = buffer.getInt(offsetOf(slot) + ID);
+                rewriteSlot(slot, changes.get(id), committedSequence);
+            }
+            force(rewritten);
+            int i = 0;
+            for (Map.Entry<Integer, Employee> change : fresh.entrySet()) {
+                int slot = allocated.get(i++);
+                if (change.getValue() != null) {
+                    writeSlot(slot, change.getValue(), sequence);
+                } else {
+                    writeTombstone(slot, change.getKey(), sequence);
+                }
+            }
+            if (!allocated.isEmpty()) {
+                force(allocated);
+                buffer.putLong(COMMITTED_SEQUENCE, sequence);
+                forceHeader();
+            }
+        } catch (IOException | RuntimeException e) {
+            abandon(rewritten, allocated, usedBefore);
+            throw new DataAccessException("Failed to write employee slots", e);
+        }
+        if (allocated.isEmpty()) {
+            return;
+        }
+        committedSequence = sequence;
+
+        // 3. Committed: point the ids at their new slots and release what the batch superseded
+        List<Integer> superseded = new ArrayList<>();
+        List<Integer> tombstones = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Integer, Employee> change : fresh.entrySet()) {
+            int slot = allocated.get(i++);
+            int old = change.getValue() != null
+                    ? slotById.put(change.getKey(), slot)
+                    : slotById.remove(change.getKey());
+            if (old != SlotTable.NONE) {
+                superseded.add(old);
+            }
+            if (change.getValue() == null) {
+                tombstones.add(slot);
+            }
+        }
+        if (release(superseded)) {
+            release(tombstones);
+        }
+    }
+
+    // Builds the file next to its final name and moves it into place only once it is complete, so a seed
+    // that fails part way leaves nothing behind and the next start seeds again
+    private void create(Path path, Path seedPath, EmployeeCodec seedCodec) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Map<Integer, Employee> seed = new LinkedHashMap<>();
+            if (Files.exists(seedPath)) {
+                try (InputStream in = Files.newInputStream(seedPath)) {
+                    for (Employee employee : seedCodec.read(in)) {
+                        try {
+                            checkStorable(employee);
+                        } catch (BusinessValidationException e) {
+                            throw new DataAccessException("Cannot seed employee " + employee.getId() + " into "
+                                    + filePath + ": " + e.getMessage(), e);
+                        }
+                        seed.put(employee.getId(), employee); // a later duplicate wins, as everywhere else
+                    }
+                }
+            }
+            int slots = INITIAL_SLOTS;
+            while (slots < seed.size()) {
+                slots *= 2;
+            }
+            try (FileChannel temp = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel = temp;
+                map(slots);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(HEADER_VERSION, VERSION);
+                buffer.putInt(HEADER_SLOT_SIZE, SLOT_SIZE);
+                buffer.putLong(COMMITTED_SEQUENCE, 1);
+                int slot = 0;
+                for (Employee employee : seed.values()) {
+                    writeSlot(slot++, employee, 1);
+                }
+                buffer.force();
+            }
+            Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+            new AtomicFileWriter(durability).syncDirectoryOf(path);
+            logger.info("Created {} with {} employees from {}", filePath, seed.size(), seedPath);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private void open(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE + SLOT_SIZE) {
+            throw new DataAccessException("Not an employee slot file: " + filePath);
+        }
+        map((int) ((channel.size() - HEADER_SIZE) / SLOT_SIZE));
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(HEADER_VERSION) != VERSION
+                || buffer.getInt(HEADER_SLOT_SIZE) != SLOT_SIZE) {
+            throw new DataAccessException("Not an employee slot file: " + filePath);
+        }
+        committedSequence = buffer.getLong(COMMITTED_SEQUENCE);
+    }
+
+    // Per id the newest committed record wins. Torn slots, slots of a batch that never committed and
+    // superseded versions are freed first; winning tombstones only once that is durable, in the same order
+    // as a running batch releases them.
+    private void load() throws IOException {
+        List<Integer> discarded = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = offsetOf(slot);
+            if (buffer.get(offset + STATUS) == FREE) {
+                continue;
+            }
+            usedSlots = slot + 1;
+            if (buffer.getInt(offset + CRC) != checksum(offset)) {
+                logger.warn("Discarding employee slot {} of {}: checksum mismatch", slot, filePath);
+                discarded.add(slot);
+                continue;
+            }
+            if (sequenceOf(slot) > committedSequence) {
+                discarded.add(slot); // written by a batch that never committed
+                continue;
+            }
+            int id = buffer.getInt(offset + ID);
+            int other = slotById.get(id);
+            if (other == SlotTable.NONE || sequenceOf(other) < sequenceOf(slot)) {
+                slotById.put(id, slot);
+                if (other != SlotTable.NONE) {
+                    discarded.add(other);
+                }
+            } else {
+                discarded.add(slot);
+            }
+        }
+        // The winners are exactly the slots their id points at; winning tombstones leave the table
+        List<Integer> tombstones = new ArrayList<>();
+        EmployeeSnapshot.Builder recovered = snapshot().toBuilder();
+        for (int slot = 0; slot < usedSlots; slot++) {
+            int offset = offsetOf(slot);
+            byte status = buffer.get(offset + STATUS);
+            int id = buffer.getInt(offset + ID);
+            if (status == FREE || slotById.get(id) != slot) {
+                continue;
+            }
+            if (status == DELETED) {
+                slotById.remove(id);
+                tombstones.add(slot);
+            } else {
+                recovered.put(readSlot(offset));
+            }
+        }
+        markFree(discarded);
+        force(discarded);
+        markFree(tombstones);
+        force(tombstones);
+        // Free slots below the high-water mark are reused first, lowest last
+        for (int slot = usedSlots - 1; slot >= 0; slot--) {
+            if (buffer.get(offsetOf(slot) + STATUS) == FREE) {
+                freeSlots.push(slot);
+            }
+        }
+        publish(recovered);
+        logger.info("Loaded {} employees from {} ({} free slots)", slotById.size(), filePath, freeSlots.size());
+    }
+
+    private int allocate() throws IOException {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (usedSlots == capacity) {
+            map(capacity * 2);
+            if (durability != Durability.NONE) {
+                channel.force(true); // the new file length is metadata
+            }
+        }
+        return usedSlots++;
+    }
+
+    // Gives an allocation back in reverse, so the free list ends up exactly as before it
+    private void releaseAllocation(List<Integer> allocated, int usedBefore) {
+        for (int i = allocated.size() - 1; i >= 0; i--) {
+            if (allocated.get(i) < usedBefore) {
+                freeSlots.push(allocated.get(i));
+            }
+        }
+        usedSlots = usedBefore;
+    }
+
+    // Undoes a batch that did not commit: the previous versions go back into the rewritten slots, and the new
+    // records must be durably gone before the sequence number is handed out again. If that cannot be
+    // guaranteed the engine stops accepting writes.
+    private void abandon(List<Integer> rewritten, List<Integer> allocated, int usedBefore) {
+        try {
+            EmployeeSnapshot current = snapshot();
+            for (int slot : rewritten) {
+                rewriteSlot(slot, current.get(buffer.getInt(offsetOf(slot) + ID)), committedSequence);
+            }
+            force(rewritten);
+            markFree(allocated);
+            buffer.putLong(COMMITTED_SEQUENCE, committedSequence);
+            force(allocated);
+            forceHeader();
+            releaseAllocation(allocated, usedBefore);
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            logger.error("Failed to undo an employee slot batch; refusing further writes until restart", e);
+        }
+    }
+
+    // Frees committed-over slots; they are only recycled once that is durable. Otherwise they stay out of
+    // circulation until the next start reclaims them.
+    private boolean release(List<Integer> slots) {
+        if (slots.isEmpty()) {
+            return true;
+        }
+        markFree(slots);
+        try {
+            force(slots);
+        } catch (IOException e) {
+            logger.warn("Failed to release {} employee slots; they are reclaimed on the next start", slots.size(),
+                    e);
+            return false;
+        }
+        for (int slot : slots) {
+            freeSlots.push(slot);
+        }
+        return true;
+    }
+
+    private void markFree(List<Integer> slots) {
+        for (int slot : slots) {
+            buffer.put(offsetOf(slot) + STATUS, FREE);
+        }
+    }
+
+    private void force(List<Integer> slots) throws IOException {
+        if (slots.isEmpty() || durability == Durability.NONE) {
+            return;
+        }
+        int lowest = Integer.MAX_VALUE;
+        int highest = -1;
+        for (int slot : slots) {
+            lowest = Math.min(lowest, slot);
+            highest = Math.max(highest, slot);
+        }
+        force(offsetOf(lowest), offsetOf(highest) + SLOT_SIZE - offsetOf(lowest));
+    }
+
+    private void forceHeader() throws IOException {
+        if (durability != Durability.NONE) {
+            force(0, HEADER_SIZE);
+        }
+    }
+
+    private void force(int offset, int length) throws IOException {
+        try {
+            buffer.force(offset, length);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void map(int slots) throws IOException {
+        long size = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Employee slot file cannot grow beyond 2 GB");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = slots;
+    }
+
+    private void writeSlot(int slot, Employee employee, long sequence) {
+        int offset = offsetOf(slot);
+        buffer.put(offset + STATUS, FREE); // a half-written slot must not look used
+        writeRecord(offset, employee, sequence);
+        buffer.put(offset + STATUS, USED);
+    }
+
+    // Stays USED throughout: the slot holds the only copy of the employee, and a torn rewrite fails its CRC
+    private void rewriteSlot(int slot, Employee employee, long sequence) {
+        writeRecord(offsetOf(slot), employee, sequence);
+    }
+
+    private void writeRecord(int offset, Employee employee, long sequence) {
+        buffer.putInt(offset + ID, employee.getId());
+        buffer.putDouble(offset + SALARY, employee.getSalary());
+        buffer.putLong(offset + DATE_OF_BIRTH, toEpochDay(employee.getDateOfBirth()));
+        buffer.putLong(offset + JOIN_DATE, toEpochDay(employee.getJoinDate()));
+        putString(offset + FIRST_NAME, employee.getFirstName());
+        putString(offset + LAST_NAME, employee.getLastName());
+        putString(offset + DEPARTMENT, employee.getDepartment());
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.putInt(offset + CRC, checksum(offset));
+    }
+
+    private void writeTombstone(int slot, int id, long sequence) {
+        int offset = offsetOf(slot);
+        buffer.put(offset + STATUS, FREE);
+        buffer.putInt(offset + ID, id);
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.putInt(offset + CRC, checksum(offset));
+        buffer.put(offset + STATUS, DELETED);
+    }
+
+    // Same setter order as the JSON properties, so loading validates exactly like the other engines
+    private Employee readSlot(int offset) {
+        Employee employee = new Employee();
+        employee.setId(buffer.getInt(offset + ID));
+        String firstName = getString(offset + FIRST_NAME);
+        if (firstName != null) {
+            employee.setFirstName(firstName);
+        }
+        String lastName = getString(offset + LAST_NAME);
+        if (lastName != null) {
+            employee.setLastName(lastName);
+        }
+        long dateOfBirth = buffer.getLong(offset + DATE_OF_BIRTH);
+        if (dateOfBirth != NO_DATE) {
+            employee.setDateOfBirth(LocalDate.ofEpochDay(dateOfBirth));
+        }
+        employee.setSalary(buffer.getDouble(offset + SALARY));
+        long joinDate = buffer.getLong(offset + JOIN_DATE);
+        if (joinDate != NO_DATE) {
+            employee.setJoinDate(LocalDate.ofEpochDay(joinDate));
+        }
+        String department = getString(offset + DEPARTMENT);
+        if (department != null) {
+            employee.setDepartment(department);
+        }
+        return employee;
+    }
+
+    private long sequenceOf(int slot) {
+        return buffer.getLong(offsetOf(slot) + SEQUENCE);
+    }
+
+    private void putString(int offset, String value) {
+        if (value == null) {
+            buffer.putShort(offset, (short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort(offset, (short) bytes.length);
+        buffer.put(offset + 2, bytes);
+    }
+
+    private String getString(int offset) {
+        int length = buffer.getShort(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checksum(int offset) {
+        CRC32 crc = new CRC32();
+        ByteBuffer slot = buffer.slice(offset + ID, END - ID);
+        crc.update(slot);
+        return (int) crc.getValue();
+    }
+
+    private static void checkLength(String field, String value, int maxBytes) {
+        if (value != null && value.getBytes(StandardCharsets.UTF_8).length > maxBytes) {
+            throw new BusinessValidationException(field + " is too long for slot storage (max " + maxBytes + " bytes)");
+        }
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : date.toEpochDay();
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        writeLock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close employee slot file", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
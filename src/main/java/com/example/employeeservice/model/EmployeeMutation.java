@@ -0,0 +1,57 @@
+package com.example.employeeservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// A single committed change to the employee set; also the on-disk record of the write-ahead log
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeMutation {
+
+    public enum Type {
+        PUT, DELETE
+    }
+
+    private Type type;
+    private int id;
+    private Employee employee;
+
+    public EmployeeMutation() {
+    }
+
+    private EmployeeMutation(Type type, int id, Employee employee) {
+        this.type = type;
+        this.id = id;
+        this.employee = employee;
+    }
+
+    public static EmployeeMutation put(Employee employee) {
+        return new EmployeeMutation(Type.PUT, employee.getId(), employee);
+    }
+
+    public static EmployeeMutation delete(int id) {
+        return new EmployeeMutation(Type.DELETE, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.employeeservice.model;
+
+import java.util.List;
+
+// One page of a listing; nextCursor is null on the last page
+public class EmployeePage {
+    private final List<Employee> employees;
+    private final String nextCursor;
+
+    public EmployeePage(List<Employee> employees, String nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
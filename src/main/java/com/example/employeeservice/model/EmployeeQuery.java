@@ -0,0 +1,171 @@
+package com.example.employeeservice.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Conjunction of optional employee filters plus the order and window of the listing; a null filter does not
+// constrain the result.
+// Salary and join date bounds are inclusive, the department is matched case-insensitively and the name
+// against first or last name as a case-insensitive substring.
+public class EmployeeQuery {
+    private String name;
+    private Double minSalary;
+    private Double maxSalary;
+    private String department;
+    private LocalDate joinedFrom;
+    private LocalDate joinedTo;
+    private EmployeeSort sort = EmployeeSort.ID;
+    private EmployeeCursor after; // resume after this position; must use the same sort
+    private Integer limit; // null = no limit
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public LocalDate getJoinedFrom() {
+        return joinedFrom;
+    }
+
+    public LocalDate getJoinedTo() {
+        return joinedTo;
+    }
+
+    public EmployeeSort getSort() {
+        return sort;
+    }
+
+    public EmployeeCursor getAfter() {
+        return after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setMinSalary(Double minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public void setMaxSalary(Double maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public void setJoinedFrom(LocalDate joinedFrom) {
+        this.joinedFrom = joinedFrom;
+    }
+
+    public void setJoinedTo(LocalDate joinedTo) {
+        this.joinedTo = joinedTo;
+    }
+
+    public void setSort(EmployeeSort sort) {
+        this.sort = sort;
+    }
+
+    public void setAfter(EmployeeCursor after) {
+        this.after = after;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public EmployeeQuery copy() {
+        EmployeeQuery copy = new EmployeeQuery();
+        copy.name = name;
+        copy.minSalary = minSalary;
+        copy.maxSalary = maxSalary;
+        copy.department = department;
+        copy.joinedFrom = joinedFrom;
+        copy.joinedTo = joinedTo;
+        copy.sort = sort;
+        copy.after = after;
+        copy.limit = limit;
+        return copy;
+    }
+
+    public boolean isUnconstrained() {
+        return !hasName() && !hasSalaryRange() && !hasDepartment() && !hasJoinDateRange();
+    }
+
+    public boolean hasName() {
+        return name != null;
+    }
+
+    public boolean hasSalaryRange() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean hasDepartment() {
+        return department != null;
+    }
+
+    public boolean hasJoinDateRange() {
+        return joinedFrom != null || joinedTo != null;
+    }
+
+    public boolean matches(Employee employee) {
+        if (hasName() && !NameIndex.matches(employee, name)) {
+            return false;
+        }
+        if (minSalary != null && employee.getSalary() < minSalary) {
+            return false;
+        }
+        if (maxSalary != null && employee.getSalary() > maxSalary) {
+            return false;
+        }
+        if (hasDepartment() && !DepartmentIndex.key(employee.getDepartment()).equals(DepartmentIndex.key(department))) {
+            return false;
+        }
+        if (joinedFrom != null && (employee.getJoinDate() == null || employee.getJoinDate().isBefore(joinedFrom))) {
+            return false;
+        }
+        return joinedTo == null || (employee.getJoinDate() != null && !employee.getJoinDate().isAfter(joinedTo));
+    }
+
+    // Value equality over all fields, so a normalized query can key a cache
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EmployeeQuery)) {
+            return false;
+        }
+        EmployeeQuery other = (EmployeeQuery) o;
+        return Objects.equals(name, other.name)
+                && Objects.equals(minSalary, other.minSalary)
+                && Objects.equals(maxSalary, other.maxSalary)
+                && Objects.equals(department, other.department)
+                && Objects.equals(joinedFrom, other.joinedFrom)
+                && Objects.equals(joinedTo, other.joinedTo)
+                && sort == other.sort
+                && Objects.equals(after, other.after)
+                && Objects.equals(limit, other.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, minSalary, maxSalary, department, joinedFrom, joinedTo, sort, after, limit);
+    }
+}
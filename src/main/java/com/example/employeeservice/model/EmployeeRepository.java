@@ -2,7 +2,10 @@ package com.example.employeeservice.model;
 
 import com.example.employeeservice.exception.DataAccessException;
 import com.example.employeeservice.exception.EmployeeNotFoundException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface EmployeeRepository {
     List<Employee> findAll() throws DataAccessException;
@@ -15,9 +18,32 @@ public interface EmployeeRepository {
 
     List<Employee> findBySalaryRange(Double fromSalary, Double toSalary) throws DataAccessException;
 
+    List<Employee> findByDepartment(String department) throws DataAccessException;
+
+    EmployeePage findByQuery(EmployeeQuery query) throws DataAccessException;
+
+    Iterator<Employee> iterateByQuery(EmployeeQuery query) throws DataAccessException;
+
+    SalaryReport salaryReport(EmployeeQuery query) throws DataAccessException;
+
+    // An id of 0 is assigned the next id after the highest stored one. The argument is left unchanged; the
+    // returned copy carries the id. Ids are not reserved across restarts (see EmployeeIndex.maxId).
     Employee save(Employee employee) throws DataAccessException;
 
+    Map<Integer, RuntimeException> saveAll(List<Employee> employees) throws DataAccessException;
+
     Employee update(Employee employee) throws DataAccessException;
 
     void delete(int id) throws DataAccessException, EmployeeNotFoundException;
+
+    // Advances with every committed batch; equal versions mean equal data within this process
+    long version();
+
+    // Version of the last batch that added, changed or removed an employee of the department
+    // (case-insensitive), or 0 if none did since startup
+    long departmentVersion(String department);
+
+    // Called with the net changes of every committed batch, after they became visible to readers and
+    // before the writers are released; must be quick and must not write to the repository
+    void addChangeListener(Consumer<List<EmployeeChange>> listener);
 }
\ No newline at end of file
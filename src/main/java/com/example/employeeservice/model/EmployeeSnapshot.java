@@ -0,0 +1,309 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+// Immutable point-in-time view of the employee set. Writers derive the next snapshot through a Builder
+// and publish it with a single volatile write, so readers never lock and never see a half-applied batch.
+// The Employee instances are shared between snapshots; the Builder freezes them, so they cannot be modified.
+public final class EmployeeSnapshot {
+    private static final EmployeeSnapshot EMPTY =
+            new EmployeeSnapshot(new EmployeeIndex(), List.of(), DepartmentIndex.empty(), SalaryIndex.empty(),
+                    NameIndex.empty(), OrderIndex.empty(EmployeeSort.LAST_NAME.getOrder()),
+                    OrderIndex.empty(EmployeeSort.JOIN_DATE.getOrder()), EmployeeColumns.empty());
+
+    private final EmployeeIndex byId;
+    private final List<Employee> all; // ascending id
+    private final DepartmentIndex byDepartment;
+    private final SalaryIndex bySalary;
+    private final NameIndex byName;
+    private final OrderIndex byLastName;
+    private final OrderIndex byJoinDate;
+    private final EmployeeColumns columns;
+
+    private EmployeeSnapshot(EmployeeIndex byId, List<Employee> all, DepartmentIndex byDepartment,
+            SalaryIndex bySalary, NameIndex byName, OrderIndex byLastName, OrderIndex byJoinDate,
+            EmployeeColumns columns) {
+        this.byId = byId;
+        this.all = all;
+        this.byDepartment = byDepartment;
+        this.bySalary = bySalary;
+        this.byName = byName;
+        this.byLastName = byLastName;
+        this.byJoinDate = byJoinDate;
+        this.columns = columns;
+    }
+
+    public static EmployeeSnapshot empty() {
+        return EMPTY;
+    }
+
+    public Employee get(int id) {
+        return byId.get(id);
+    }
+
+    public boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    public List<Employee> all() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public List<Employee> byDepartment(String department) {
+        return byDepartment.find(department);
+    }
+
+    public List<Employee> bySalaryRange(Double fromSalary, Double toSalary) {
+        return bySalary.range(fromSalary, toSalary);
+    }
+
+    public List<Employee> byNameContaining(String term) {
+        return byName.find(term, this);
+    }
+
+    // Name is not a column, so it is ignored here; callers reject it
+    public SalaryReport salaryReport(EmployeeQuery query) {
+        return columns.salaryReport(query);
+    }
+
+    // All employees in the given order, straight from the index that maintains it
+    public List<Employee> ordered(EmployeeSort sort) {
+        switch (sort) {
+            case SALARY:
+                return bySalary.ordered();
+            case LAST_NAME:
+                return byLastName.ordered();
+            case JOIN_DATE:
+                return byJoinDate.ordered();
+            case ID:
+            default:
+                return all;
+        }
+    }
+
+    // Plans the query against this snapshot: every index that can answer one of the predicates reports how
+    // many candidates it would produce (all cheap: a map lookup, two binary searches, posting list lengths)
+    // and the smallest candidate set is fetched, filtered and sorted. When no index narrows the search the
+    // sorted index itself is walked from the cursor position instead, so a page costs a binary search plus
+    // the entries it returns (and any non-matching ones skipped on the way).
+    public EmployeePage query(EmployeeQuery query) {
+        return page(query, candidates(query));
+    }
+
+    // Every match in the query's order, ignoring cursor and limit. Unless an index narrows the search the
+    // sorted index is filtered lazily while iterating, so nothing proportional to the result is held.
+    public Iterator<Employee> iterate(EmployeeQuery query) {
+        List<Employee> candidates = candidates(query);
+        if (candidates != all) {
+            EmployeeQuery unbounded = query.copy();
+            unbounded.setAfter(null);
+            unbounded.setLimit(null);
+            return page(unbounded, candidates).getEmployees().iterator();
+        }
+        List<Employee> ordered = ordered(query.getSort());
+        if (query.isUnconstrained()) {
+            return ordered.iterator();
+        }
+        return ordered.stream().filter(query::matches).iterator();
+    }
+
+    private EmployeePage page(EmployeeQuery query, List<Employee> candidates) {
+        EmployeeSort sort = query.getSort();
+        List<Employee> source;
+        boolean filtered; // whether source still contains non-matching employees
+        if (candidates != all) {
+            source = new ArrayList<>(candidates.size());
+            for (Employee employee : candidates) {
+                if (query.matches(employee)) {
+                    source.add(employee);
+                }
+            }
+            source.sort(sort.getOrder());
+            filtered = false;
+        } else if (query.isUnconstrained()) {
+            source = ordered(sort);
+            filtered = false;
+        } else if (sort == EmployeeSort.ID && !query.hasName()) {
+            // Only columnar predicates left: scan the primitive columns, which are in id order already
+            int[] rows = columns.filter(query);
+            source = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                source.add(all.get(row));
+            }
+            filtered = false;
+        } else {
+            source = ordered(sort);
+            filtered = true;
+        }
+
+        int start = 0;
+        if (query.getAfter() != null) {
+            int found = Collections.binarySearch(source, query.getAfter().probe(), sort.getOrder());
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+        int limit = query.getLimit() == null ? Integer.MAX_VALUE : query.getLimit();
+        List<Employee> page;
+        boolean more;
+        if (!filtered) {
+            int end = (int) Math.min((long) start + limit, source.size());
+            page = source.subList(start, end);
+            more = end < source.size();
+        } else {
+            // One match beyond the limit tells whether there is a next page
+            page = new ArrayList<>();
+            more = false;
+            for (int i = start; i < source.size(); i++) {
+                if (query.matches(source.get(i))) {
+                    if (page.size() == limit) {
+                        more = true;
+                        break;
+                    }
+                    page.add(source.get(i));
+                }
+            }
+        }
+        String nextCursor = more && !page.isEmpty()
+                ? EmployeeCursor.after(sort, page.get(page.size() - 1)).encode()
+                : null;
+        return new EmployeePage(Collections.unmodifiableList(page), nextCursor);
+    }
+
+    private List<Employee> candidates(EmployeeQuery query) {
+        List<Employee> candidates = all;
+        if (query.hasDepartment()) {
+            List<Employee> members = byDepartment.find(query.getDepartment());
+            if (members.size() < candidates.size()) {
+                candidates = members;
+            }
+        }
+        if (query.hasSalaryRange()
+                && bySalary.count(query.getMinSalary(), query.getMaxSalary()) < candidates.size()) {
+            candidates = bySalary.range(query.getMinSalary(), query.getMaxSalary());
+        }
+        if (query.hasName() && byName.estimate(query.getName(), size()) < candidates.size()) {
+            candidates = byName.find(query.getName(), this);
+        }
+        return candidates;
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    // One linear pass over an id-ordered list and the id-ordered changes (null value = deleted). Changed
+    // employees are kept only if they still match the filter, so this also maintains filtered sublists.
+    static List<Employee> mergeById(List<Employee> previous, Map<Integer, Employee> changes,
+            Predicate<Employee> filter) {
+        List<Employee> merged = new ArrayList<>(previous.size() + changes.size());
+        Iterator<Map.Entry<Integer, Employee>> pending = changes.entrySet().iterator();
+        Map.Entry<Integer, Employee> change = pending.hasNext() ? pending.next() : null;
+        for (Employee employee : previous) {
+            while (change != null && change.getKey() < employee.getId()) {
+                addIfMatches(merged, change.getValue(), filter);
+                change = pending.hasNext() ? pending.next() : null;
+            }
+            if (change != null && change.getKey() == employee.getId()) {
+                addIfMatches(merged, change.getValue(), filter);
+                change = pending.hasNext() ? pending.next() : null;
+            } else {
+                merged.add(employee);
+            }
+        }
+        while (change != null) {
+            addIfMatches(merged, change.getValue(), filter);
+            change = pending.hasNext() ? pending.next() : null;
+        }
+        return merged;
+    }
+
+    private static void addIfMatches(List<Employee> merged, Employee employee, Predicate<Employee> filter) {
+        if (employee != null && filter.test(employee)) {
+            merged.add(employee);
+        }
+    }
+
+    public static class Builder {
+        private final EmployeeSnapshot base;
+        private final Map<Integer, Employee> changes = new TreeMap<>(); // null value marks a delete
+        private EmployeeIndex byId; // private copy of the base index, taken on the first change
+
+        private Builder(EmployeeSnapshot base) {
+            this.base = base;
+        }
+
+        public Employee get(int id) {
+            return index().get(id);
+        }
+
+        public boolean contains(int id) {
+            return index().containsKey(id);
+        }
+
+        public int maxId() {
+            return index().maxId();
+        }
+
+        public Employee put(Employee employee) {
+            employee.canonicalizeDepartment();
+            employee.freeze();
+            Employee previous = writableIndex().put(employee);
+            changes.put(employee.getId(), employee);
+            return previous;
+        }
+
+        public Employee remove(int id) {
+            Employee removed = writableIndex().remove(id);
+            if (removed != null) {
+                changes.put(id, null);
+            }
+            return removed;
+        }
+
+        public void apply(EmployeeMutation mutation) {
+            if (mutation.getType() == EmployeeMutation.Type.PUT) {
+                put(mutation.getEmployee());
+            } else {
+                remove(mutation.getId());
+            }
+        }
+
+        public boolean hasChanges() {
+            return !changes.isEmpty();
+        }
+
+        public EmployeeSnapshot build() {
+            if (changes.isEmpty()) {
+                return base;
+            }
+            return new EmployeeSnapshot(byId,
+                    Collections.unmodifiableList(mergeById(base.all, changes, employee -> true)),
+                    base.byDepartment.withChanges(base, changes),
+                    base.bySalary.withChanges(base, changes),
+                    base.byName.withChanges(base, changes),
+                    base.byLastName.withChanges(base, changes),
+                    base.byJoinDate.withChanges(base, changes),
+                    base.columns.withChanges(changes));
+        }
+
+        private EmployeeIndex index() {
+            return byId != null ? byId : base.byId;
+        }
+
+        private EmployeeIndex writableIndex() {
+            if (byId == null) {
+                byId = new EmployeeIndex(base.byId);
+            }
+            return byId;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.employeeservice.model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+// Supported listing orders. Every order ends with the id, so it is total and a cursor (key, id) names
+// exactly one position even when several employees share the key.
+public enum EmployeeSort {
+    ID("id", Comparator.comparingInt(Employee::getId)),
+    SALARY("salary", Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId)),
+    LAST_NAME("lastName", Comparator.comparing(Employee::getLastName,
+            Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparingInt(Employee::getId)),
+    JOIN_DATE("joinDate", Comparator.comparing(Employee::getJoinDate,
+            Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder())).thenComparingInt(Employee::getId));
+
+    private final String parameter;
+    private final Comparator<Employee> order;
+
+    EmployeeSort(String parameter, Comparator<Employee> order) {
+        this.parameter = parameter;
+        this.order = order;
+    }
+
+    public static EmployeeSort fromParameter(String parameter) {
+        for (EmployeeSort sort : values()) {
+            if (sort.parameter.equalsIgnoreCase(parameter)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + parameter);
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public Comparator<Employee> getOrder() {
+        return order;
+    }
+
+    // The sort key of an employee as carried in a cursor
+    String keyOf(Employee employee) {
+        switch (this) {
+            case SALARY:
+                return Double.toString(employee.getSalary());
+            case LAST_NAME:
+                return employee.getLastName() == null ? "" : employee.getLastName();
+            case JOIN_DATE:
+                return employee.getJoinDate() == null ? "" : employee.getJoinDate().toString();
+            case ID:
+            default:
+                return "";
+        }
+    }
+
+    // An employee that sorts exactly where the cursor points; only used for binary searches
+    Employee probe(String key, int id) {
+        Employee probe = new Employee();
+        probe.setId(id);
+        switch (this) {
+            case SALARY:
+                probe.setSalary(Double.parseDouble(key));
+                break;
+            case LAST_NAME:
+                if (!key.isEmpty()) {
+                    probe.setLastName(key);
+                }
+                break;
+            case JOIN_DATE:
+                if (!key.isEmpty()) {
+                    probe.setJoinDate(LocalDate.parse(key));
+                }
+                break;
+            case ID:
+            default:
+                break;
+        }
+        return probe;
+    }
+}
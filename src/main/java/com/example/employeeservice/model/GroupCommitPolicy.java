@@ -0,0 +1,29 @@
+package com.example.employeeservice.model;
+
+import java.time.Duration;
+
+// How long the committer waits for more writes to share one durable write, and how many it takes at most
+public class GroupCommitPolicy {
+    private final int maxBatchSize;
+    private final Duration window;
+
+    public GroupCommitPolicy(int maxBatchSize, Duration window) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Group commit batch size must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+    }
+
+    public static GroupCommitPolicy defaults() {
+        return new GroupCommitPolicy(256, Duration.ofMillis(1));
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
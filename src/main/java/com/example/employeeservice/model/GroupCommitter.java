@@ -0,0 +1,150 @@
+package com.example.employeeservice.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Single committer thread that hands queued requests to a handler in batches. A batch closes when the
+// window since its first request elapses or it reaches the size limit; requests that arrive while a
+// batch is being written simply wait for the next one.
+public class GroupCommitter<R, V> implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private final BlockingQueue<Entry<R, V>> queue = new LinkedBlockingQueue<>();
+    private final Entry<R, V> shutdownMarker = new Entry<>(null);
+    private final Consumer<List<Entry<R, V>>> handler;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Thread thread;
+    private boolean closed;
+
+    public GroupCommitter(String name, GroupCommitPolicy policy, Consumer<List<Entry<R, V>>> handler) {
+        this.handler = handler;
+        this.maxBatchSize = policy.getMaxBatchSize();
+        this.windowNanos = policy.getWindow().toNanos();
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public synchronized CompletableFuture<V> submit(R request) {
+        Entry<R, V> entry = new Entry<>(request);
+        if (closed) {
+            entry.fail(new IllegalStateException("Group commit is closed"));
+        } else {
+            queue.add(entry);
+        }
+        return entry.future;
+    }
+
+    private void run() {
+        try {
+            commitUntilStopped();
+        } finally {
+            // However the loop ended, nothing may wait on a committer that is gone
+            List<Entry<R, V>> abandoned = new ArrayList<>();
+            synchronized (this) {
+                closed = true;
+                queue.drainTo(abandoned);
+            }
+            for (Entry<R, V> entry : abandoned) {
+                entry.fail(new IllegalStateException("Group commit is closed"));
+            }
+        }
+    }
+
+    private void commitUntilStopped() {
+        List<Entry<R, V>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Entry<R, V> first = queue.take();
+                if (first == shutdownMarker) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    Entry<R, V> next = windowNanos > 0
+                            ? queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == shutdownMarker) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Entry<R, V>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            handler.accept(batch);
+        } catch (Throwable e) {
+            // Errors too: the committer thread has to survive them, or every later write would hang
+            logger.error("Group commit of {} requests failed", batch.size(), e);
+            for (Entry<R, V> entry : batch) {
+                entry.fail(e);
+            }
+        }
+        for (Entry<R, V> entry : batch) {
+            entry.fail(new IllegalStateException("Request was not completed by its batch"));
+        }
+    }
+
+    // Commits everything queued so far, then stops the committer thread
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(shutdownMarker);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Entry<R, V> {
+        private final R request;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private Entry(R request) {
+            this.request = request;
+        }
+
+        public R getRequest() {
+            return request;
+        }
+
+        public void complete(V value) {
+            future.complete(value);
+        }
+
+        public void fail(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.employeeservice.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+// Pretty-printed JSON array: the original data file format, still readable by hand for debugging
+public class JsonEmployeeCodec implements EmployeeCodec {
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JsonEmployeeCodec() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.reader = objectMapper.readerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        this.writer = objectMapper.writerWithDefaultPrettyPrinter();
+    }
+
+    @Override
+    public void write(List<Employee> employees, OutputStream out) throws IOException {
+        writer.writeValue(out, employees);
+    }
+
+    @Override
+    public List<Employee> read(InputStream in) throws IOException {
+        byte[] content = in.readAllBytes();
+        if (new String(content).trim().isEmpty()) {
+            return List.of();
+        }
+        return reader.readValue(content);
+    }
+}
@@ -2,16 +2,23 @@ package com.example.employeeservice.model;
 
 import com.example.employeeservice.exception.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import java.util.concurrent.locks.ReentrantLock;
-
+// The mapper is configured once and never touched again; ObjectReader/ObjectWriter are immutable and
+// thread-safe, so they are built once per target type and shared without any locking
 public class JsonUtil {
     private static final ObjectMapper objectMapper = createObjectMapper();
-    private static final ReentrantLock mapperLock = new ReentrantLock();
+    private static final ObjectWriter writer = objectMapper.writer();
+    private static final ObjectReader treeReader = objectMapper.reader();
+    private static final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
 
     private static ObjectMapper createObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
@@ -24,61 +31,50 @@ public class JsonUtil {
         return mapper;
     }
 
+    private static ObjectReader readerFor(JavaType type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
     public static String toJson(Object object) {
-        mapperLock.lock();
         try {
-            return objectMapper.writeValueAsString(object);
+            return writer.writeValueAsString(object);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             throw new JsonProcessingException("Failed to serialize object to JSON", e);
-        } finally {
-            mapperLock.unlock();
         }
     }
 
     public static <T> T fromJson(String json, Class<T> clazz) {
-        mapperLock.lock();
         try {
-            return objectMapper.readValue(json, clazz);
+            return readerFor(objectMapper.constructType(clazz)).readValue(json);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             throw new JsonProcessingException("Failed to deserialize JSON to " + clazz.getSimpleName(), e);
-        } finally {
-            mapperLock.unlock();
         }
     }
 
     public static <T> List<T> fromJsonList(String json, Class<T> clazz) {
-        mapperLock.lock();
         try {
-            return objectMapper.readValue(json,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+            return readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, clazz))
+                    .readValue(json);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             throw new JsonProcessingException("Failed to deserialize JSON to List<" + clazz.getSimpleName() + ">", e);
-        } finally {
-            mapperLock.unlock();
         }
     }
 
     public static <T> T fromJson(String json, TypeReference<T> typeReference) {
-        mapperLock.lock();
         try {
-            return objectMapper.readValue(json, typeReference);
+            return readerFor(objectMapper.constructType(typeReference.getType())).readValue(json);
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             throw new JsonProcessingException("Failed to deserialize JSON to " + typeReference.getType().getTypeName(),
                     e);
-        } finally {
-            mapperLock.unlock();
         }
     }
 
     public static boolean isValidJson(String json) {
-        mapperLock.lock();
         try {
-            objectMapper.readTree(json);
+            treeReader.readTree(json);
             return true;
         } catch (Exception e) {
             return false;
-        } finally {
-            mapperLock.unlock();
         }
     }
-}
\ No newline at end of file
+}
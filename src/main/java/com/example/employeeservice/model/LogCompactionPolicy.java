@@ -0,0 +1,37 @@
+package com.example.employeeservice.model;
+
+import java.time.Duration;
+
+// When the mutation log is folded into a snapshot; a zero threshold disables that trigger
+public class LogCompactionPolicy {
+    private final long maxLogBytes;
+    private final long maxLogRecords;
+    private final Duration interval;
+
+    public LogCompactionPolicy(long maxLogBytes, long maxLogRecords, Duration interval) {
+        this.maxLogBytes = maxLogBytes;
+        this.maxLogRecords = maxLogRecords;
+        this.interval = interval;
+    }
+
+    public static LogCompactionPolicy disabled() {
+        return new LogCompactionPolicy(0, 0, Duration.ZERO);
+    }
+
+    public long getMaxLogBytes() {
+        return maxLogBytes;
+    }
+
+    public long getMaxLogRecords() {
+        return maxLogRecords;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public boolean isExceeded(long logBytes, long logRecords) {
+        return (maxLogBytes > 0 && logBytes >= maxLogBytes)
+                || (maxLogRecords > 0 && logRecords >= maxLogRecords);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable inverted index from the lower-cased bigrams and trigrams of first and last names to sorted
+// employee ids. A substring query intersects the posting lists of its own n-grams and only verifies the
+// surviving candidates, instead of lower-casing and scanning every name.
+public final class NameIndex {
+    private static final NameIndex EMPTY = new NameIndex(Map.of());
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+
+    private final Map<String, int[]> postings;
+
+    private NameIndex(Map<String, int[]> postings) {
+        this.postings = postings;
+    }
+
+    public static NameIndex empty() {
+        return EMPTY;
+    }
+
+    // Employees whose first or last name contains the term (case-insensitive), in ascending id order
+    public List<Employee> find(String term, EmployeeSnapshot snapshot) {
+        String normalized = term.toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_GRAM) {
+            return scan(normalized, snapshot);
+        }
+        int gram = Math.min(normalized.length(), MAX_GRAM);
+        int[][] lists = new int[normalized.length() - gram + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            int[] ids = postings.get(normalized.substring(i, i + gram));
+            if (ids == null) {
+                return List.of();
+            }
+            lists[i] = ids;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        int[] candidates = lists[0];
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            int[] narrowed = new int[count];
+            count = intersect(candidates, count, lists[i], narrowed);
+            candidates = narrowed;
+        }
+
+        List<Employee> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = snapshot.get(candidates[i]);
+            // n-grams of a longer term may all occur without the term itself occurring
+            if (employee != null && (gram == normalized.length() || matches(employee, normalized))) {
+                result.add(employee);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // Upper bound on the number of matches without touching any employee: the shortest posting list
+    public int estimate(String term, int headcount) {
+        String normalized = term.toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_GRAM) {
+            return headcount;
+        }
+        int gram = Math.min(normalized.length(), MAX_GRAM);
+        int estimate = headcount;
+        for (int i = 0; i + gram <= normalized.length(); i++) {
+            int[] ids = postings.get(normalized.substring(i, i + gram));
+            if (ids == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, ids.length);
+        }
+        return estimate;
+    }
+
+    NameIndex withChanges(EmployeeSnapshot previous, Map<Integer, Employee> changes) {
+        Map<String, Set<Integer>> removed = new HashMap<>();
+        Map<String, Set<Integer>> added = new HashMap<>();
+        for (Map.Entry<Integer, Employee> change : changes.entrySet()) {
+            int id = change.getKey();
+            Set<String> oldGrams = grams(previous.get(id));
+            Set<String> newGrams = grams(change.getValue());
+            for (String gram : oldGrams) {
+                if (!newGrams.contains(gram)) {
+                    removed.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+                }
+            }
+            for (String gram : newGrams) {
+                if (!oldGrams.contains(gram)) {
+                    added.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+                }
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return this;
+        }
+        Map<String, int[]> next = new HashMap<>(postings);
+        Set<String> affected = new HashSet<>(removed.keySet());
+        affected.addAll(added.keySet());
+        for (String gram : affected) {
+            int[] ids = rebuild(postings.get(gram), removed.getOrDefault(gram, Set.of()),
+                    added.getOrDefault(gram, Set.of()));
+            if (ids.length == 0) {
+                next.remove(gram);
+            } else {
+                next.put(gram, ids);
+            }
+        }
+        return new NameIndex(next);
+    }
+
+    private static int[] rebuild(int[] previous, Set<Integer> removed, Set<Integer> added) {
+        int[] ids = new int[(previous == null ? 0 : previous.length) + added.size()];
+        int size = 0;
+        if (previous != null) {
+            for (int id : previous) {
+                if (!removed.contains(id)) {
+                    ids[size++] = id;
+                }
+            }
+        }
+        for (int id : added) {
+            ids[size++] = id;
+        }
+        ids = Arrays.copyOf(ids, size);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static Set<String> grams(Employee employee) {
+        if (employee == null) {
+            return Set.of();
+        }
+        Set<String> grams = new HashSet<>();
+        addGrams(employee.getFirstName(), grams);
+        addGrams(employee.getLastName(), grams);
+        return grams;
+    }
+
+    private static void addGrams(String name, Set<String> grams) {
+        if (name == null) {
+            return;
+        }
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= normalized.length(); i++) {
+                grams.add(normalized.substring(i, i + n));
+            }
+        }
+    }
+
+    private static int intersect(int[] a, int aLength, int[] b, int[] out) {
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < aLength && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return size;
+    }
+
+    static boolean matches(Employee employee, String term) {
+        return containsIgnoreCase(employee.getFirstName(), term) || containsIgnoreCase(employee.getLastName(), term);
+    }
+
+    private static boolean containsIgnoreCase(String value, String term) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i + term.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, term, 0, term.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Employee> scan(String term, EmployeeSnapshot snapshot) {
+        List<Employee> result = new ArrayList<>();
+        for (Employee employee : snapshot.all()) {
+            if (matches(employee, term)) {
+                result.add(employee);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
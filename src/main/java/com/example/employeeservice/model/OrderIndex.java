@@ -0,0 +1,63 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Immutable array of all employees in one total order, maintained by merging each batch in rather than
+// re-sorting, so sorted listings can seek straight to a cursor position
+public final class OrderIndex {
+    private final Comparator<Employee> order;
+    private final Employee[] employees;
+
+    private OrderIndex(Comparator<Employee> order, Employee[] employees) {
+        this.order = order;
+        this.employees = employees;
+    }
+
+    public static OrderIndex empty(Comparator<Employee> order) {
+        return new OrderIndex(order, new Employee[0]);
+    }
+
+    public List<Employee> ordered() {
+        return Collections.unmodifiableList(Arrays.asList(employees));
+    }
+
+    OrderIndex withChanges(EmployeeSnapshot previous, Map<Integer, Employee> changes) {
+        boolean[] replaced = new boolean[employees.length];
+        int removed = 0;
+        for (Integer id : changes.keySet()) {
+            Employee old = previous.get(id);
+            if (old != null) {
+                // The order is total and old is stored here, so the search lands on it exactly
+                replaced[Arrays.binarySearch(employees, old, order)] = true;
+                removed++;
+            }
+        }
+        List<Employee> added = new ArrayList<>(changes.size());
+        for (Employee employee : changes.values()) {
+            if (employee != null) {
+                added.add(employee);
+            }
+        }
+        added.sort(order);
+
+        Employee[] next = new Employee[employees.length - removed + added.size()];
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < next.length; n++) {
+            while (i < employees.length && replaced[i]) {
+                i++;
+            }
+            if (j < added.size() && (i == employees.length || order.compare(added.get(j), employees[i]) < 0)) {
+                next[n] = added.get(j++);
+            } else {
+                next[n] = employees[i++];
+            }
+        }
+        return new OrderIndex(order, next);
+    }
+}
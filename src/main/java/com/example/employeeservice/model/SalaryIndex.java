@@ -0,0 +1,142 @@
+package com.example.employeeservice.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Immutable parallel arrays sorted by (salary, id). Range queries binary-search both bounds and return
+// a view of the slice in between, so their cost depends on the result size, not on headcount. Updates find
+// an employee's old entry by binary search on both keys, however many others share its salary.
+public final class SalaryIndex {
+    private static final SalaryIndex EMPTY = new SalaryIndex(new double[0], new int[0], new Employee[0]);
+    private static final Comparator<Employee> ORDER =
+            Comparator.comparingDouble(Employee::getSalary).thenComparingInt(Employee::getId);
+
+    private final double[] salaries;
+    private final int[] ids;
+    private final Employee[] employees;
+
+    private SalaryIndex(double[] salaries, int[] ids, Employee[] employees) {
+        this.salaries = salaries;
+        this.ids = ids;
+        this.employees = employees;
+    }
+
+    public static SalaryIndex empty() {
+        return EMPTY;
+    }
+
+    // Either bound may be null (open); both are inclusive. Result is ordered by salary, then id.
+    public List<Employee> range(Double fromSalary, Double toSalary) {
+        int from = fromSalary == null ? 0 : firstAtLeast(fromSalary);
+        int to = toSalary == null ? salaries.length : firstAbove(toSalary);
+        if (from >= to) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(employees).subList(from, to));
+    }
+
+    // All employees ordered by salary, then id (EmployeeSort.SALARY)
+    public List<Employee> ordered() {
+        return Collections.unmodifiableList(Arrays.asList(employees));
+    }
+
+    public int count(Double fromSalary, Double toSalary) {
+        int from = fromSalary == null ? 0 : firstAtLeast(fromSalary);
+        int to = toSalary == null ? salaries.length : firstAbove(toSalary);
+        return Math.max(0, to - from);
+    }
+
+    SalaryIndex withChanges(EmployeeSnapshot previous, Map<Integer, Employee> changes) {
+        // Old entries of changed employees are located by binary search and skipped during the merge
+        boolean[] replaced = new boolean[employees.length];
+        int removed = 0;
+        for (Integer id : changes.keySet()) {
+            Employee old = previous.get(id);
+            if (old != null) {
+                replaced[position(old.getSalary(), id)] = true;
+                removed++;
+            }
+        }
+        List<Employee> added = new ArrayList<>(changes.size());
+        for (Employee employee : changes.values()) {
+            if (employee != null) {
+                added.add(employee);
+            }
+        }
+        added.sort(ORDER);
+
+        int size = employees.length - removed + added.size();
+        double[] nextSalaries = new double[size];
+        int[] nextIds = new int[size];
+        Employee[] nextEmployees = new Employee[size];
+        int i = 0;
+        int j = 0;
+        for (int n = 0; n < size; n++) {
+            while (i < employees.length && replaced[i]) {
+                i++;
+            }
+            Employee next;
+            if (j < added.size() && (i == employees.length || ORDER.compare(added.get(j), employees[i]) < 0)) {
+                next = added.get(j++);
+            } else {
+                next = employees[i++];
+            }
+            nextSalaries[n] = next.getSalary();
+            nextIds[n] = next.getId();
+            nextEmployees[n] = next;
+        }
+        return new SalaryIndex(nextSalaries, nextIds, nextEmployees);
+    }
+
+    private int firstAtLeast(double salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] < salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstAbove(double salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] <= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int position(double salary, int id) {
+        int low = 0;
+        int high = salaries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = Double.compare(salaries[mid], salary);
+            if (order == 0) {
+                order = Integer.compare(ids[mid], id);
+            }
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Employee " + id + " is missing from the salary index");
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.employeeservice.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Salary statistics over the matching employees, overall and per department ("" = no department)
+public class SalaryReport {
+    private final SalaryStatistics overall;
+    private final Map<String, SalaryStatistics> byDepartment = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public SalaryReport(SalaryStatistics overall) {
+        this.overall = overall;
+    }
+
+    void addDepartment(String department, SalaryStatistics statistics) {
+        byDepartment.put(department, statistics);
+    }
+
+    public SalaryStatistics getOverall() {
+        return overall;
+    }
+
+    public Map<String, SalaryStatistics> getByDepartment() {
+        return Collections.unmodifiableMap(byDepartment);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.employeeservice.model;
+
+// Count, total, minimum, maximum and average of a set of salaries; min/max/average are null when empty
+public class SalaryStatistics {
+    private long count;
+    private double total;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public SalaryStatistics() {
+    }
+
+    public SalaryStatistics(long count, double total, double min, double max) {
+        this.count = count;
+        this.total = total;
+        this.min = min;
+        this.max = max;
+    }
+
+    void add(double salary) {
+        count++;
+        total += salary;
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public Double getMin() {
+        return count == 0 ? null : min;
+    }
+
+    public Double getMax() {
+        return count == 0 ? null : max;
+    }
+
+    public Double getAverage() {
+        return count == 0 ? null : total / count;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.employeeservice.model;
+
+import java.util.Arrays;
+
+// Open-addressing id -> slot table on primitive ints, laid out like EmployeeIndex
+final class SlotTable {
+    static final int NONE = -1; // neither ids nor slots are ever negative
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    SlotTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int get(int id) {
+        int index = indexOf(id);
+        return index < 0 ? NONE : values[index];
+    }
+
+    // Returns the slot the id had before, or NONE
+    int put(int id, int slot) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int index = hash(id);
+        while (keys[index] != NONE) {
+            if (keys[index] == id) {
+                int previous = values[index];
+                values[index] = slot;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = id;
+        values[index] = slot;
+        size++;
+        return NONE;
+    }
+
+    // Returns the slot the id had, or NONE
+    int remove(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return NONE;
+        }
+        int removed = values[index];
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != NONE) {
+            int home = hash(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = NONE;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(int id) {
+        if (id < 0) {
+            return -1;
+        }
+        int index = hash(id);
+        while (keys[index] != NONE) {
+            if (keys[index] == id) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NONE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, NONE);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
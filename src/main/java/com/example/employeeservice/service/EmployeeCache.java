@@ -0,0 +1,93 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.model.DepartmentIndex;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChange;
+import com.example.employeeservice.model.EmployeePage;
+import com.example.employeeservice.model.EmployeeQuery;
+import com.example.employeeservice.model.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through caches for single employees, department listings and filtered queries, switched on by
+// employee.enable-caching. Entries are invalidated precisely from the repository's change feed, which also
+// covers bulk imports: an employee entry by id, a department listing if the old or new version of a
+// changed employee is in that department, and a query result if the old or new version matches the
+// query - a result can only change if one of its members or would-be members did.
+@Component
+public class EmployeeCache {
+    // Above this many changes in one batch, re-matching every cached query costs more than reloading them
+    private static final int MAX_MATCHED_CHANGES = 64;
+
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final LruCache<Integer, Employee> employees;
+    private final LruCache<String, List<Employee>> departments;
+    private final LruCache<EmployeeQuery, EmployeePage> queries;
+
+    @Autowired
+    public EmployeeCache(ApplicationProperties properties, EmployeeRepository employeeRepository,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnableCaching();
+        int maxEntries = properties.getCacheMaxEntries();
+        this.employees = new LruCache<>("employees", maxEntries, generation, meterRegistry);
+        this.departments = new LruCache<>("departments", maxEntries, generation, meterRegistry);
+        this.queries = new LruCache<>("queries", maxEntries, generation, meterRegistry);
+        // Registered even with caching off: the generation also stamps coalesced computations (EmployeeService)
+        employeeRepository.addChangeListener(this::invalidate);
+    }
+
+    // Advances with every published batch, before the repository publishes the batch's versions
+    long generation() {
+        return generation.get();
+    }
+
+    // Callers may modify the returned employee, so every call gets its own copy
+    public Employee employee(int id, Supplier<Employee> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return new Employee(employees.get(id, loader));
+    }
+
+    public List<Employee> department(String department, Supplier<List<Employee>> loader) {
+        return enabled ? departments.get(DepartmentIndex.key(department), loader) : loader.get();
+    }
+
+    // query must already be normalized and must not be modified afterwards; it becomes the key
+    public EmployeePage query(EmployeeQuery query, Supplier<EmployeePage> loader) {
+        return enabled ? queries.get(query, loader) : loader.get();
+    }
+
+    private void invalidate(List<EmployeeChange> changes) {
+        generation.incrementAndGet();
+        if (!enabled) {
+            return;
+        }
+        for (EmployeeChange change : changes) {
+            employees.invalidate(change.getId());
+            if (change.getBefore() != null) {
+                departments.invalidate(DepartmentIndex.key(change.getBefore().getDepartment()));
+            }
+            if (change.getAfter() != null) {
+                departments.invalidate(DepartmentIndex.key(change.getAfter().getDepartment()));
+            }
+        }
+        if (changes.size() > MAX_MATCHED_CHANGES) {
+            queries.clear();
+            return;
+        }
+        queries.invalidateIf(query -> changes.stream().anyMatch(change -> affects(query, change)));
+    }
+
+    private static boolean affects(EmployeeQuery query, EmployeeChange change) {
+        return (change.getBefore() != null && query.matches(change.getBefore()))
+                || (change.getAfter() != null && query.matches(change.getAfter()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+import com.example.employeeservice.exception.DataAccessException;
+import com.example.employeeservice.model.BulkImportReport;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Imports a stream of employees (a JSON array or newline-delimited JSON) without holding it in memory.
+// Records are read in chunks; each chunk is bound through the Employee setters and validated in parallel,
+// then all valid records of the chunk are committed as one repository batch, which also rejects ids that
+// already exist (in the store or earlier in the same import).
+@Service
+public class EmployeeImportService {
+    private static final int BATCH_SIZE = 5_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EmployeeImportService(EmployeeRepository employeeRepository, EmployeeService employeeService,
+            ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+    }
+
+    public BulkImportReport importEmployees(InputStream body) {
+        BulkImportReport report = new BulkImportReport();
+        List<JsonNode> chunk = new ArrayList<>(BATCH_SIZE);
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                chunk.add(objectMapper.readTree(parser));
+                if (chunk.size() == BATCH_SIZE) {
+                    importChunk(chunk, index, report);
+                    index += chunk.size();
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // The parser cannot resynchronize after a syntax error: keep what was read before it and stop
+            importChunk(chunk, index, report);
+            report.recordReceived(1);
+            report.recordError(index + chunk.size(), null, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+            return report;
+        } catch (IOException e) {
+            throw new BusinessValidationException("Failed to read import stream: " + e.getMessage());
+        }
+        importChunk(chunk, index, report);
+        return report;
+    }
+
+    private void importChunk(List<JsonNode> records, int firstIndex, BulkImportReport report) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Employee[] employees = new Employee[records.size()];
+        String[] errors = new String[records.size()];
+        IntStream.range(0, records.size()).parallel().forEach(i -> {
+            try {
+                Employee employee = objectMapper.treeToValue(records.get(i), Employee.class);
+                employeeService.validateEmployee(employee);
+                employees[i] = employee;
+            } catch (JsonProcessingException e) {
+                errors[i] = validationMessage(e);
+            } catch (BusinessValidationException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+
+        List<Employee> valid = new ArrayList<>(records.size());
+        int[] positions = new int[records.size()];
+        for (int i = 0; i < employees.length; i++) {
+            if (employees[i] != null) {
+                positions[valid.size()] = i;
+                valid.add(employees[i]);
+            }
+        }
+        if (!valid.isEmpty()) {
+            try {
+                Map<Integer, RuntimeException> failures = employeeRepository.saveAll(valid);
+                failures.forEach((position, failure) -> errors[positions[position]] = failure.getMessage());
+            } catch (DataAccessException e) {
+                for (int position = 0; position < valid.size(); position++) {
+                    errors[positions[position]] = "Failed to save employee: " + e.getMessage();
+                }
+            }
+        }
+
+        report.recordReceived(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (errors[i] == null) {
+                report.recordImported(1);
+            } else {
+                report.recordError(firstIndex + i, idOf(records.get(i)), errors[i]);
+            }
+        }
+    }
+
+    // Setter validation failures arrive wrapped by Jackson; report the business rule, not the wrapper
+    private static String validationMessage(JsonProcessingException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof BusinessValidationException) {
+            return cause.getMessage();
+        }
+        return "Invalid employee record: " + e.getOriginalMessage();
+    }
+
+    private static Integer idOf(JsonNode record) {
+        JsonNode id = record.get("id");
+        return id != null && id.canConvertToInt() ? id.intValue() : null;
+    }
+}
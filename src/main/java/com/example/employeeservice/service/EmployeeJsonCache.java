@@ -0,0 +1,96 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.exception.JsonProcessingException;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChange;
+import com.example.employeeservice.model.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized UTF-8 JSON of stored employees, so GET responses are assembled by copying bytes instead of running
+// Jackson over unchanged employees. Entries are keyed by the identity of the immutable instance a snapshot
+// holds (Employee.storedInstance()): a write always stores a new instance, so an entry can only ever be found
+// for the exact state it was serialized from, and an employee that was changed since it was read is simply
+// serialized afresh. The key is that instance itself, not a copy of it.
+//
+// Bounded by cacheMaxEntries with approximate LRU eviction (LruCache). The change feed drops the entries of
+// replaced and deleted instances; one rendered by a reader still holding an older snapshot after that can
+// never be hit by a newer instance, and ages out like any other cold entry.
+@Component
+public class EmployeeJsonCache {
+    private final boolean enabled;
+    private final ObjectWriter writer;
+    private final AtomicLong generation = new AtomicLong();
+    private final LruCache<Employee, byte[]> entries;
+
+    @Autowired
+    public EmployeeJsonCache(ApplicationProperties properties, EmployeeRepository employeeRepository,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnableCaching();
+        // Same configuration as the regular message converter, so cached and live responses are identical
+        this.writer = objectMapper.writerFor(Employee.class);
+        this.entries = new LruCache<>("json", properties.getCacheMaxEntries(), generation, meterRegistry);
+        if (enabled) {
+            employeeRepository.addChangeListener(this::invalidate);
+        }
+    }
+
+    // The returned array is shared: callers must not modify it
+    public byte[] toJson(Employee employee) {
+        Employee stored = employee.storedInstance();
+        if (!enabled || stored == null) {
+            return serialize(employee);
+        }
+        return entries.get(stored, () -> serialize(stored));
+    }
+
+    // A JSON array built from the cached slices in one buffer of exactly the right size
+    public byte[] toJsonArray(List<Employee> employees) {
+        byte[][] slices = new byte[employees.size()][];
+        int length = 2 + Math.max(0, employees.size() - 1);
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = toJson(employees.get(i));
+            length += slices[i].length;
+        }
+        byte[] array = new byte[length];
+        int position = 0;
+        array[position++] = '[';
+        for (int i = 0; i < slices.length; i++) {
+            if (i > 0) {
+                array[position++] = ',';
+            }
+            System.arraycopy(slices[i], 0, array, position, slices[i].length);
+            position += slices[i].length;
+        }
+        array[position] = ']';
+        return array;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void invalidate(List<EmployeeChange> changes) {
+        generation.incrementAndGet();
+        for (EmployeeChange change : changes) {
+            if (change.getBefore() != null) {
+                entries.invalidate(change.getBefore());
+            }
+        }
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return writer.writeValueAsBytes(employee);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new JsonProcessingException("Failed to serialize employee " + employee.getId(), e);
+        }
+    }
+}
@@ -5,28 +5,45 @@ import com.example.employeeservice.exception.DataAccessException;
 import com.example.employeeservice.exception.NotFoundException;
 import com.example.employeeservice.exception.ServiceException;
 import com.example.employeeservice.exception.EmployeeNotFoundException;
+import com.example.employeeservice.model.DepartmentIndex;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeCursor;
+import com.example.employeeservice.model.EmployeePage;
+import com.example.employeeservice.model.EmployeeQuery;
 import com.example.employeeservice.model.EmployeeRepository;
+import com.example.employeeservice.model.EmployeeSort;
+import com.example.employeeservice.model.SalaryReport;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final EmployeeRepository employeeRepository;
     private final Executor asyncExecutor;
+    private final EmployeeCache cache;
+    // Identical listings requested concurrently (typically on a cache miss) run once and share the result
+    private final SingleFlight<EmployeeQuery, EmployeePage> queryFlights;
+    private final SingleFlight<String, List<Employee>> departmentFlights;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository, Executor asyncExecutor) {
+    public EmployeeService(EmployeeRepository employeeRepository, Executor asyncExecutor, EmployeeCache cache,
+            MeterRegistry meterRegistry) {
         this.employeeRepository = employeeRepository;
         this.asyncExecutor = asyncExecutor;
+        this.cache = cache;
+        this.queryFlights = new SingleFlight<>("employees", meterRegistry);
+        this.departmentFlights = new SingleFlight<>("department", meterRegistry);
     }
 
     public Employee createEmployee(Employee employee) {
@@ -46,7 +63,7 @@ public class EmployeeService {
             if (id <= 0) {
                 throw new BusinessValidationException("Invalid employee ID: " + id);
             }
-            return employeeRepository.findById(id);
+            return cache.employee(id, () -> employeeRepository.findById(id));
         } catch (EmployeeNotFoundException e) {
             throw new NotFoundException("Employee not found with ID: " + id, e);
         } catch (DataAccessException e) {
@@ -54,21 +71,65 @@ public class EmployeeService {
         }
     }
 
-    public List<Employee> getEmployees(String name, Double fromSalary, Double toSalary) {
+    // sort, cursor and limit are the raw request parameters; any of them may be null
+    public EmployeePage getEmployees(EmployeeQuery query, String sort, String cursor, Integer limit) {
         try {
-            if (StringUtils.hasText(name)) {
-                return searchEmployeesByName(name.trim());
-            } else if (fromSalary != null || toSalary != null) {
-                return filterEmployeesBySalary(fromSalary, toSalary);
-            }
-            return employeeRepository.findAll();
+            prepareQuery(query, sort, cursor, limit);
+            // Flights are stamped with the cache generation, read inside the loader after the cache has noted
+            // its own: a flight started before a write's invalidation is then never joined, and so never stored
+            // after it
+            return cache.query(query, () -> queryFlights.run(query, cache.generation(),
+                    () -> employeeRepository.findByQuery(query)));
+        } catch (DataAccessException e) {
+            throw new ServiceException("Failed to retrieve employees", e);
+        }
+    }
+
+    // For streaming responses: everything matching, in the requested order, without paging. Validation
+    // happens here so errors surface before the response is committed.
+    public Iterator<Employee> streamEmployees(EmployeeQuery query, String sort) {
+        try {
+            applyPaging(query, sort, null, null);
+            validateQuery(query);
+            return employeeRepository.iterateByQuery(query);
         } catch (DataAccessException e) {
             throw new ServiceException("Failed to retrieve employees", e);
         }
     }
 
-    public CompletableFuture<List<Employee>> getEmployeesAsync(String name, Double fromSalary, Double toSalary) {
-        return CompletableFuture.supplyAsync(() -> getEmployees(name, fromSalary, toSalary), asyncExecutor);
+    public SalaryReport getSalaryReport(EmployeeQuery query) {
+        try {
+            validateQuery(query);
+            return employeeRepository.salaryReport(query);
+        } catch (DataAccessException e) {
+            throw new ServiceException("Failed to compute salary statistics", e);
+        }
+    }
+
+    public CompletableFuture<EmployeePage> getEmployeesAsync(EmployeeQuery query, String sort, String cursor,
+            Integer limit) {
+        return CompletableFuture.supplyAsync(() -> getEmployees(query, sort, cursor, limit), asyncExecutor);
+    }
+
+    // Applies the paging parameters and validates the query without running it, so a bad request can be
+    // rejected before a conditional request is answered. getEmployees does the same, so calling both is fine.
+    public void prepareQuery(EmployeeQuery query, String sort, String cursor, Integer limit) {
+        applyPaging(query, sort, cursor, limit);
+        validateQuery(query);
+    }
+
+    public void validateDepartment(String department) {
+        if (!StringUtils.hasText(department)) {
+            throw new BusinessValidationException("Department cannot be empty");
+        }
+    }
+
+    // Version of the data behind a listing: a department filter narrows it to that department's version.
+    // Read it before the listing itself, so the listing is never older than the version it is tagged with.
+    public long getEmployeesVersion(String department) {
+        return StringUtils.hasText(department)
+                ? employeeRepository.departmentVersion(department.trim())
+                : employeeRepository.version();
     }
 
     public Employee updateEmployee(int id, Employee employeeUpdates) {
@@ -96,18 +157,17 @@ public class EmployeeService {
 
     public List<Employee> getEmployeesByDepartment(String department) {
         try {
-            if (!StringUtils.hasText(department)) {
-                throw new BusinessValidationException("Department cannot be empty");
-            }
-            return employeeRepository.findAll().stream()
-                    .filter(e -> department.equalsIgnoreCase(e.getDepartment()))
-                    .collect(Collectors.toList());
+            validateDepartment(department);
+            // Trimmed like every other department input, so listing, version and ETag agree on the department
+            String name = department.trim();
+            return cache.department(name, () -> departmentFlights.run(DepartmentIndex.key(name),
+                    cache.generation(), () -> employeeRepository.findByDepartment(name)));
         } catch (DataAccessException e) {
             throw new ServiceException("Failed to retrieve employees by department", e);
         }
     }
 
-    private void validateEmployee(Employee employee) {
+    void validateEmployee(Employee employee) {
         if (employee == null) {
             throw new BusinessValidationException("Employee cannot be null");
         }
@@ -183,24 +243,40 @@ public class EmployeeService {
         }
     }
 
-    private List<Employee> searchEmployeesByName(String name) {
-        try {
-            if (name == null || name.trim().length() < 2) {
+    // Normalizes blank filters away and rejects the ones that cannot match anything sensible
+    private void validateQuery(EmployeeQuery query) {
+        if (StringUtils.hasText(query.getName())) {
+            String name = query.getName().trim();
+            if (name.length() < 2) {
                 throw new BusinessValidationException("Search term must be at least 2 characters");
             }
-            return employeeRepository.findByNameContaining(name.toLowerCase());
-        } catch (DataAccessException e) {
-            throw new ServiceException("Failed to search employees by name", e);
+            query.setName(name.toLowerCase());
+        } else {
+            query.setName(null);
+        }
+        validateSalaryRange(query.getMinSalary(), query.getMaxSalary());
+        query.setDepartment(StringUtils.hasText(query.getDepartment()) ? query.getDepartment().trim() : null);
+        if (query.getJoinedFrom() != null && query.getJoinedTo() != null
+                && query.getJoinedFrom().isAfter(query.getJoinedTo())) {
+            throw new BusinessValidationException("Join date range start cannot be after its end");
+        }
+        if (query.getLimit() != null && (query.getLimit() < 1 || query.getLimit() > MAX_PAGE_SIZE)) {
+            throw new BusinessValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (query.getAfter() != null && query.getAfter().getSort() != query.getSort()) {
+            throw new BusinessValidationException(
+                    "Cursor does not belong to sort order " + query.getSort().getParameter());
         }
     }
 
-    private List<Employee> filterEmployeesBySalary(Double fromSalary, Double toSalary) {
+    private void applyPaging(EmployeeQuery query, String sort, String cursor, Integer limit) {
         try {
-            validateSalaryRange(fromSalary, toSalary);
-            return employeeRepository.findBySalaryRange(fromSalary, toSalary);
-        } catch (DataAccessException e) {
-            throw new ServiceException("Failed to filter employees by salary", e);
+            query.setSort(StringUtils.hasText(sort) ? EmployeeSort.fromParameter(sort.trim()) : EmployeeSort.ID);
+            query.setAfter(StringUtils.hasText(cursor) ? EmployeeCursor.decode(cursor.trim()) : null);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException(e.getMessage());
         }
+        query.setLimit(limit);
     }
 
     private void applyUpdates(Employee target, Employee source) {
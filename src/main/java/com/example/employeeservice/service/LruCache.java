@@ -0,0 +1,139 @@
+package com.example.employeeservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Size-bounded map with approximate least-recently-used eviction and hit/miss/eviction counters. A hit is a
+// ConcurrentHashMap lookup plus an access stamp on the entry, taken without any lock; the stamp is a clock
+// that only advances when an entry is stored, and is rewritten only when it changed. Once the map outgrows
+// its bound, one storing thread evicts the least recently stamped sixteenth in a single pass while the others
+// carry on, so the bound can be overshot briefly under concurrent misses.
+//
+// A value is only kept if no invalidation ran while it was being loaded (tracked by the owner's shared
+// generation), so a load that read data from before a write can never be cached after that write's
+// invalidation.
+final class LruCache<K, V> {
+    private final ConcurrentMap<K, Node<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final AtomicLong generation;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    LruCache(String name, int maxEntries, AtomicLong generation, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.generation = generation;
+        this.hits = meterRegistry.counter("employee.cache.hits", "cache", name);
+        this.misses = meterRegistry.counter("employee.cache.misses", "cache", name);
+        this.evictions = meterRegistry.counter("employee.cache.evictions", "cache", name);
+        meterRegistry.gauge("employee.cache.size", Tags.of("cache", name), this, LruCache::size);
+    }
+
+    V get(K key, Supplier<V> loader) {
+        Node<V> node = entries.get(key);
+        if (node != null) {
+            node.touch(clock.get());
+            hits.increment();
+            return node.value;
+        }
+        misses.increment();
+        long loadedAt = generation.get();
+        V value = loader.get();
+        if (generation.get() != loadedAt) {
+            return value;
+        }
+        Node<V> stored = new Node<>(value, clock.incrementAndGet());
+        entries.put(key, stored);
+        // An invalidation that started after the check above may already have run past this key
+        if (generation.get() != loadedAt) {
+            entries.remove(key, stored);
+        } else if (entries.size() > maxEntries) {
+            evict();
+        }
+        return value;
+    }
+
+    // Callers bump the generation before invalidating, so loads already in flight are not kept
+    void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    void invalidateIf(Predicate<K> stale) {
+        entries.keySet().removeIf(stale);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // someone else is already evicting
+        }
+        try {
+            int target = maxEntries - maxEntries / 16;
+            int excess = entries.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            long[] stamps = new long[entries.size() + 16]; // the map may grow during the scan
+            int n = 0;
+            for (Node<V> node : entries.values()) {
+                if (n == stamps.length) {
+                    break;
+                }
+                stamps[n++] = node.lastAccess;
+            }
+            if (n == 0) {
+                return;
+            }
+            Arrays.sort(stamps, 0, n);
+            long cutoff = stamps[Math.min(excess, n) - 1];
+            int evicted = 0;
+            for (Map.Entry<K, Node<V>> entry : entries.entrySet()) {
+                if (evicted == excess) {
+                    break;
+                }
+                if (entry.getValue().lastAccess <= cutoff && entries.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+            evictions.increment(evicted);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Node<V> {
+        final V value;
+        volatile long lastAccess;
+
+        Node(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+
+        // Skips the write when the stamp is current, so hot entries are not written on every hit
+        void touch(long now) {
+            if (lastAccess != now) {
+                lastAccess = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.employeeservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Coalesces concurrent identical computations: the first caller for a key runs it, callers arriving while it
+// is in flight wait for and share its result (or exception). Nothing is kept once the computation finishes.
+//
+// Callers pass a version stamp they observed on arrival and only join a flight that started at that stamp or
+// later, so a caller never receives a result computed before a write it could already see. The stamp must
+// advance after a write is visible and before any other sign of it (EmployeeService uses the cache generation).
+final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter coalesced;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.requests = meterRegistry.counter("employee.singleflight.requests", "operation", name);
+        this.coalesced = meterRegistry.counter("employee.singleflight.coalesced", "operation", name);
+        meterRegistry.gauge("employee.singleflight.coalescing.ratio", Tags.of("operation", name), this,
+                SingleFlight::coalescingRatio);
+    }
+
+    V run(K key, long version, Supplier<V> computation) {
+        requests.increment();
+        requestCount.increment();
+        Flight<V> flight = new Flight<>(version);
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (existing.version >= version) {
+                coalesced.increment();
+                coalescedCount.increment();
+                return await(existing.result);
+            }
+            return computation.get(); // an older flight is still running; not worth queueing behind it
+        }
+        try {
+            V value = computation.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e); // waiters must never be left hanging
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Share of all requests since startup that were answered by another caller's computation
+    double coalescingRatio() {
+        long total = requestCount.sum();
+        return total == 0 ? 0 : (double) coalescedCount.sum() / total;
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+        private final long version;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Flight(long version) {
+            this.version = version;
+        }
+    }
+}
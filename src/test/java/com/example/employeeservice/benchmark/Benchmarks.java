@@ -0,0 +1,75 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.model.Employee;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Shared plumbing for the benchmarks in this package. They are plain main() programs rather than JMH suites
+// (the build has no JMH dependency), surefire does not pick them up, and each takes its sizes as optional
+// arguments. Run one against the test classpath with
+//
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.employeeservice.benchmark.ReadBenchmark -Dexec.args="10000 1500"
+//
+// The figures quoted alongside the changes they measure were taken on a single-CPU machine. They show
+// per-operation cost and blocking behaviour, but say nothing about how anything scales across cores; repeat
+// the multi-threaded runs on a machine with several cores before drawing conclusions about contention.
+final class Benchmarks {
+    private static final String[] FIRST_NAMES = {"Anna", "Bo", "Carla", "Dmitri", "Eve", "Farid", "Gustavo"};
+    private static final String[] LAST_NAMES = {"Andersson", "Brown", "Chen", "Delacroix", "Ek", "Fuller", "Garcia"};
+
+    private Benchmarks() {
+    }
+
+    static void printEnvironment(String benchmark) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%s: %d CPU(s), Java %s, max heap %d MB%n", benchmark, cpus, Runtime.version(),
+                Runtime.getRuntime().maxMemory() >> 20);
+        if (cpus == 1) {
+            System.out.println("Single CPU: threads only interleave here, so multi-threaded results show no scaling");
+        }
+    }
+
+    static int intArgument(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    // Valid employees with a realistic spread of names, dates and salaries over the given departments
+    static List<Employee> employees(int count, String[] departments, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            employees.add(new Employee(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + random.nextInt(5000),
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(20000),
+                    LocalDate.of(1960 + random.nextInt(20), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    20000 + random.nextInt(200000) + random.nextInt(100) / 100.0,
+                    LocalDate.of(2000 + random.nextInt(20), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    departments[random.nextInt(departments.length)]));
+        }
+        return employees;
+    }
+
+    static Path temporaryDirectory() throws IOException {
+        return Files.createTempDirectory("employee-benchmark");
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
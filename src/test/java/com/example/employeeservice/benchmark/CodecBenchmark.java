@@ -0,0 +1,79 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.model.BinaryEmployeeCodec;
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeCodec;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+// Size on disk and decode time of the same generated employees in the JSON and the binary data file
+// encodings. The binary file is produced by the startup migration, and both decodes are checked to yield
+// the same employees. Decoding runs every setter, so a large part of either load time is validation.
+//
+// Arguments: employee count (100000), decode rounds (5)
+public final class CodecBenchmark {
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "HR", "Finance", "Operations"};
+
+    private CodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = Benchmarks.intArgument(args, 0, 100_000);
+        int rounds = Benchmarks.intArgument(args, 1, 5);
+        Benchmarks.printEnvironment("CodecBenchmark");
+        Path directory = Benchmarks.temporaryDirectory();
+        try {
+            Path json = directory.resolve("employees.json");
+            Path binary = directory.resolve("employees.bin");
+            JsonEmployeeCodec jsonCodec = new JsonEmployeeCodec();
+            BinaryEmployeeCodec binaryCodec = new BinaryEmployeeCodec();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(json))) {
+                jsonCodec.write(Benchmarks.employees(count, DEPARTMENTS, new Random(1)), out);
+            }
+            EmployeeFileRepository.migrate(json, jsonCodec, binary, binaryCodec, Durability.NONE);
+            System.out.printf("%d employees: JSON %.1f MB, binary %.1f MB%n", count, Files.size(json) / 1e6,
+                    Files.size(binary) / 1e6);
+
+            for (int round = 0; round < rounds; round++) { // the first rounds double as warm-up
+                long start = System.nanoTime();
+                List<Employee> fromJson = read(json, jsonCodec);
+                long jsonNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                List<Employee> fromBinary = read(binary, binaryCodec);
+                long binaryNanos = System.nanoTime() - start;
+                checkSame(fromJson, fromBinary);
+                System.out.printf("round=%d load JSON %d ms, binary %d ms%n", round, jsonNanos / 1_000_000,
+                        binaryNanos / 1_000_000);
+            }
+        } finally {
+            Benchmarks.deleteRecursively(directory);
+        }
+    }
+
+    private static List<Employee> read(Path file, EmployeeCodec codec) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return codec.read(in);
+        }
+    }
+
+    private static void checkSame(List<Employee> expected, List<Employee> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("Decoded " + actual.size() + " employees, expected " + expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (!expected.get(i).toString().equals(actual.get(i).toString())) {
+                throw new IllegalStateException("Decodings differ: " + expected.get(i) + " vs " + actual.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.model.DepartmentDictionary;
+import com.example.employeeservice.model.Employee;
+
+import java.time.LocalDate;
+
+// Retained heap per employee when every employee holds its own copy of its department name, as a parser
+// hands them over, versus when the names are canonicalized the way EmployeeSnapshot stores them. Measured
+// as the heap still in use after repeated System.gc() calls, so run it with a fixed heap (-Xms equal to
+// -Xmx) and treat the result as approximate; there is no JOL dependency to measure object layouts exactly.
+//
+// Arguments: employee count (200000), department count (40)
+public final class DepartmentFootprintBenchmark {
+    private DepartmentFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = Benchmarks.intArgument(args, 0, 200_000);
+        int departmentCount = Benchmarks.intArgument(args, 1, 40);
+        Benchmarks.printEnvironment("DepartmentFootprintBenchmark");
+        String[] departments = new String[departmentCount];
+        for (int i = 0; i < departmentCount; i++) {
+            departments[i] = "Department-" + i;
+        }
+        for (boolean shared : new boolean[] {false, true}) {
+            long before = usedHeap();
+            Employee[] employees = employees(count, departments, shared);
+            long retained = usedHeap() - before;
+            System.out.printf("%s: %d bytes/employee, %.1f MB for %d employees%n",
+                    shared ? "canonical department names" : "a copy per employee", retained / employees.length,
+                    retained / 1e6, employees.length);
+        }
+    }
+
+    private static Employee[] employees(int count, String[] departments, boolean shared) {
+        Employee[] employees = new Employee[count];
+        for (int i = 0; i < count; i++) {
+            // A fresh String per employee, as a parser produces it
+            String department = new String(departments[i % departments.length].toCharArray());
+            employees[i] = new Employee(i + 1, "First" + i, "Last" + i, LocalDate.of(1980, 1, 1), 1000,
+                    LocalDate.of(2010, 1, 1), shared ? DepartmentDictionary.canonical(department) : department);
+        }
+        return employees;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
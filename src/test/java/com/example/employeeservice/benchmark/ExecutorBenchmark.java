@@ -0,0 +1,114 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.EmployeeServiceApplication;
+import com.example.employeeservice.config.ApplicationProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// asyncExecutor in both executor modes, built by the application's own bean method with default settings,
+// under closed-loop clients: each client submits a task, waits for it and submits the next. A task reads
+// 4 KB at a random offset of a file and then blocks for 10 ms, standing in for an fsync. Reports throughput,
+// latency percentiles and rejected submissions. The tasks mostly wait, so a single CPU is enough to show
+// the difference between a bounded pool and a thread per task.
+//
+// Arguments: tasks per run (10000), client counts (50 and 200)
+public final class ExecutorBenchmark {
+    private static final int FILE_SIZE = 1 << 20;
+
+    private ExecutorBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasks = Benchmarks.intArgument(args, 0, 10_000);
+        int[] clientCounts = args.length > 1
+                ? Arrays.stream(args).skip(1).mapToInt(Integer::parseInt).toArray()
+                : new int[] {50, 200};
+        Benchmarks.printEnvironment("ExecutorBenchmark");
+        Path file = Files.createTempFile("employee-benchmark", ".bin");
+        try {
+            Files.write(file, new byte[FILE_SIZE + 4096]);
+            for (int clients : clientCounts) {
+                for (ApplicationProperties.ExecutorMode mode : ApplicationProperties.ExecutorMode.values()) {
+                    ApplicationProperties properties = new ApplicationProperties();
+                    properties.setExecutorMode(mode);
+                    Executor executor = new EmployeeServiceApplication().asyncExecutor(properties);
+                    try {
+                        run(mode, executor, file, clients, tasks / clients);
+                    } finally {
+                        shutdown(executor);
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void run(ApplicationProperties.ExecutorMode mode, Executor executor, Path file, int clients,
+            int tasksPerClient) throws InterruptedException {
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        long[] latencies = new long[clients * tasksPerClient];
+        long start = System.nanoTime();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                clientThreads.execute(() -> {
+                    for (int i = 0; i < tasksPerClient; i++) {
+                        long submitted = System.nanoTime();
+                        try {
+                            CompletableFuture.runAsync(() -> readAndWait(file), executor).join();
+                            latencies[completed.getAndIncrement()] = System.nanoTime() - submitted;
+                        } catch (RejectedExecutionException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        } // close() waits for every client to finish
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        System.out.printf("%-8s clients=%d completed=%d rejected=%d throughput=%.0f tasks/s p50=%.1f ms "
+                + "p99=%.1f ms%n", mode, clients, sorted.length, rejected.get(), sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? Double.NaN : sorted[(int) (sorted.length * fraction)] / 1e6;
+    }
+
+    private static void readAndWait(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(ByteBuffer.allocate(4096), ThreadLocalRandom.current().nextInt(FILE_SIZE));
+            TimeUnit.MILLISECONDS.sleep(10);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void shutdown(Executor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        } else if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).close();
+        }
+    }
+}
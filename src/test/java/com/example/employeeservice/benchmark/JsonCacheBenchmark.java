@@ -0,0 +1,73 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+import com.example.employeeservice.service.EmployeeJsonCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Time to render one page of employees as a JSON array: through Jackson, as the message converter does,
+// versus assembled from EmployeeJsonCache's pre-serialized slices. Checks both produce the same bytes.
+//
+// Arguments: page size (1000), renders per round (500)
+public final class JsonCacheBenchmark {
+    private JsonCacheBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int pageSize = Benchmarks.intArgument(args, 0, 1000);
+        int renders = Benchmarks.intArgument(args, 1, 500);
+        Benchmarks.printEnvironment("JsonCacheBenchmark");
+        Path directory = Benchmarks.temporaryDirectory();
+        EmployeeFileRepository repository = new EmployeeFileRepository(
+                directory.resolve("employees.json").toString(), new JsonEmployeeCodec(), Durability.NONE,
+                GroupCommitPolicy.defaults());
+        try {
+            repository.saveAll(Benchmarks.employees(pageSize, new String[] {"Engineering", "Sales"}, new Random(1)));
+            // Configured like the application's mapper (Spring Boot's defaults plus JavaTimeModule)
+            ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            EmployeeJsonCache cache = new EmployeeJsonCache(new ApplicationProperties(), repository, objectMapper,
+                    new SimpleMeterRegistry());
+            ObjectWriter writer = objectMapper.writerFor(new TypeReference<List<Employee>>() {
+            });
+            List<Employee> page = repository.findAll();
+            if (!Arrays.equals(writer.writeValueAsBytes(page), cache.toJsonArray(page))) {
+                throw new IllegalStateException("Cached and live JSON differ");
+            }
+
+            long bytes = 0; // consumed so the rendering cannot be optimized away
+            for (int round = 0; round < 5; round++) { // the first rounds double as warm-up
+                long start = System.nanoTime();
+                for (int i = 0; i < renders; i++) {
+                    bytes += writer.writeValueAsBytes(page).length;
+                }
+                long jacksonNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int i = 0; i < renders; i++) {
+                    bytes += cache.toJsonArray(page).length;
+                }
+                long cachedNanos = System.nanoTime() - start;
+                System.out.printf("round=%d %d-employee page: Jackson %.3f ms, cached slices %.3f ms%n", round,
+                        page.size(), jacksonNanos / 1e6 / renders, cachedNanos / 1e6 / renders);
+            }
+            System.out.println("rendered " + bytes + " bytes");
+        } finally {
+            repository.close();
+            Benchmarks.deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+// JsonUtil round trips (toJson then fromJson) from several threads at once, for a single employee and for a
+// list of them, which also exercises the per-type reader cache. Each line puts JsonUtil next to LockedJsonUtil,
+// the earlier version that held one lock around the mapper. Time per operation should stay flat as threads are
+// added up to the number of cores; the lock makes it grow instead.
+//
+// Arguments: round trips per thread (200000), largest thread count (4)
+public final class JsonUtilBenchmark {
+    private JsonUtilBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operations = Benchmarks.intArgument(args, 0, 200_000);
+        int maxThreads = Benchmarks.intArgument(args, 1, 4);
+        Benchmarks.printEnvironment("JsonUtilBenchmark");
+        List<Employee> employees = Benchmarks.employees(20, new String[] {"Engineering", "Sales"}, new Random(1));
+        Employee employee = employees.get(0);
+        String listJson = JsonUtil.toJson(employees);
+        for (int round = 0; round < 3; round++) { // the first round doubles as warm-up
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double single = nanosPerOperation(threads, operations,
+                        () -> JsonUtil.fromJson(JsonUtil.toJson(employee), Employee.class));
+                double lockedSingle = nanosPerOperation(threads, operations,
+                        () -> LockedJsonUtil.fromJson(LockedJsonUtil.toJson(employee), Employee.class));
+                double list = nanosPerOperation(threads, operations / 20,
+                        () -> JsonUtil.fromJsonList(listJson, Employee.class));
+                double lockedList = nanosPerOperation(threads, operations / 20,
+                        () -> LockedJsonUtil.fromJsonList(listJson, Employee.class));
+                System.out.printf("round=%d threads=%d employee round trip %.0f ns/op (locked %.0f), "
+                        + "20-employee list read %.0f ns/op (locked %.0f)%n",
+                        round, threads, single, lockedSingle, list, lockedList);
+            }
+        }
+    }
+
+    // Wall-clock time per operation per thread
+    private static double nanosPerOperation(int threads, int operations, Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < operations; i++) {
+                        operation.run();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+            return (double) (System.nanoTime() - start) / operations;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // JsonUtil as it was before the lock was dropped: the same mapper configuration, every call under one lock,
+    // and the list type resolved on every call
+    private static final class LockedJsonUtil {
+        private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).enable(SerializationFeature.INDENT_OUTPUT);
+        private static final ReentrantLock mapperLock = new ReentrantLock();
+
+        static String toJson(Object object) {
+            mapperLock.lock();
+            try {
+                return objectMapper.writeValueAsString(object);
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                mapperLock.unlock();
+            }
+        }
+
+        static <T> T fromJson(String json, Class<T> clazz) {
+            mapperLock.lock();
+            try {
+                return objectMapper.readValue(json, clazz);
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                mapperLock.unlock();
+            }
+        }
+
+        static <T> List<T> fromJsonList(String json, Class<T> clazz) {
+            mapperLock.lock();
+            try {
+                return objectMapper.readValue(json,
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+            } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                mapperLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read throughput under concurrent readers: each thread alternates existsById and findById over all ids for
+// a fixed time, at 1, 2, 4 ... threads up to the given maximum. Readers that serialize on a lock stay at
+// roughly the single-thread rate however many threads run; snapshot reads should scale with the thread count
+// up to the number of cores, so results past availableProcessors only show oversubscription.
+//
+// Arguments: employee count (10000), milliseconds per thread count (1500),
+// largest thread count (twice the CPU count, at least 8)
+public final class ReadBenchmark {
+    private ReadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = Benchmarks.intArgument(args, 0, 10_000);
+        int millis = Benchmarks.intArgument(args, 1, 1500);
+        Benchmarks.printEnvironment("ReadBenchmark");
+        Path directory = Benchmarks.temporaryDirectory();
+        EmployeeFileRepository repository = new EmployeeFileRepository(
+                directory.resolve("employees.json").toString(), new JsonEmployeeCodec(), Durability.NONE,
+                GroupCommitPolicy.defaults());
+        try {
+            repository.saveAll(Benchmarks.employees(count, new String[] {"Engineering", "Sales", "HR"},
+                    new Random(1)));
+            int cpus = Runtime.getRuntime().availableProcessors();
+            int maxThreads = Benchmarks.intArgument(args, 2, Math.max(8, 2 * cpus));
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                System.out.printf("threads=%d reads/s=%.0f%s%n", threads,
+                        readsPerSecond(repository, count, threads, millis), threads > cpus ? " (oversubscribed)" : "");
+            }
+        } finally {
+            repository.close();
+            Benchmarks.deleteRecursively(directory);
+        }
+    }
+
+    private static double readsPerSecond(EmployeeFileRepository repository, int count, int threadCount, int millis)
+            throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            int offset = t * (count / threadCount);
+            threads[t] = new Thread(() -> {
+                long done = 0;
+                for (int i = offset; !stop.get(); i++) {
+                    int id = 1 + i % count;
+                    if (repository.existsById(id)) {
+                        repository.findById(id);
+                    }
+                    done += 2;
+                }
+                reads.add(done);
+            });
+            threads[t].start();
+        }
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return reads.sum() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+import com.example.employeeservice.service.EmployeeCache;
+import com.example.employeeservice.service.EmployeeImportService;
+import com.example.employeeservice.service.EmployeeJsonCache;
+import com.example.employeeservice.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Conditional GETs: a request that is invalid must be rejected even when its ETag still matches
+class EmployeeControllerTest {
+    @TempDir
+    Path dir;
+
+    private EmployeeFileRepository repository;
+    private EmployeeController controller;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EmployeeFileRepository(dir.resolve("employees.json").toString(), new JsonEmployeeCodec(),
+                Durability.NONE, GroupCommitPolicy.defaults());
+        for (int id = 1; id <= 5; id++) {
+            repository.save(new Employee(id, "First", "Last" + id, LocalDate.of(1980, 1, 1), 1000 * id,
+                    LocalDate.of(2010, 1, 1), "Sales"));
+        }
+        ApplicationProperties properties = new ApplicationProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        EmployeeService service = new EmployeeService(repository, Runnable::run,
+                new EmployeeCache(properties, repository, meterRegistry), meterRegistry);
+        controller = new EmployeeController(service, new EmployeeImportService(repository, service, objectMapper),
+                new EmployeeJsonCache(properties, repository, objectMapper, meterRegistry), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private ResponseEntity<?> list(String department, String cursor, Integer limit, String ifNoneMatch) {
+        return controller.getAllEmployees(null, null, null, department, null, null, null, cursor, limit,
+                ifNoneMatch);
+    }
+
+    @Test
+    void answersAMatchingListRequestWithNotModified() {
+        String etag = list(null, null, null, null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, list(null, null, null, etag).getStatusCode());
+    }
+
+    @Test
+    void rejectsAnInvalidListRequestEvenWhenItsETagMatches() {
+        String etag = list(null, null, null, null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.BAD_REQUEST, list(null, null, 0, etag).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, list(null, "not-a-cursor", null, etag).getStatusCode());
+    }
+
+    @Test
+    void rejectsABlankDepartmentEvenWhenItsETagMatches() {
+        String etag = list(null, null, null, null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getEmployeesByDepartment(" ", etag).getStatusCode());
+        String sales = controller.getEmployeesByDepartment("Sales", null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getEmployeesByDepartment("Sales", sales).getStatusCode());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.employeeservice.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DepartmentDictionaryTest {
+    @TempDir
+    Path dir;
+
+    private EmployeeFileRepository open() {
+        return new EmployeeFileRepository(dir.resolve("employees.json").toString(), new JsonEmployeeCodec(),
+                Durability.NONE, GroupCommitPolicy.defaults());
+    }
+
+    private static Employee employee(int id, String department) {
+        return new Employee(id, "First", "Last" + id, LocalDate.of(1980, 1, 1), 1000, LocalDate.of(2010, 1, 1),
+                department);
+    }
+
+    @Test
+    void employeesLoadedWithEqualDepartmentsShareOneInstance() {
+        EmployeeFileRepository repository = open();
+        for (int id = 1; id <= 6; id++) {
+            // A fresh String each time, as a parser hands them over
+            repository.save(employee(id, new String(id % 2 == 0 ? "Dictionary Even" : "Dictionary Odd")));
+        }
+        repository.close();
+
+        repository = open();
+        try {
+            List<Employee> loaded = repository.findAll();
+
+            String even = loaded.get(1).getDepartment();
+            String odd = loaded.get(0).getDepartment();
+            for (Employee employee : loaded) {
+                assertSame(employee.getId() % 2 == 0 ? even : odd, employee.getDepartment());
+            }
+            assertSame(DepartmentDictionary.canonical(new String("Dictionary Even")), even);
+        } finally {
+            repository.close();
+        }
+    }
+
+    @Test
+    void stopsSharingNamesOnceTheCapIsReached() {
+        CanonicalNames names = new CanonicalNames(2);
+        String first = names.canonical(new String("First"));
+        String second = names.canonical(new String("Second"));
+
+        String third = new String("Third");
+        assertSame(third, names.canonical(third));
+        assertNotSame(third, names.canonical(new String("Third")));
+
+        // Names seen before the cap are still shared, and nothing more is retained
+        assertSame(first, names.canonical(new String("First")));
+        assertSame(second, names.canonical(new String("Second")));
+        assertEquals(2, names.size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeFileRepositoryTest extends EmployeeRepositoryContractTest {
+
+    @Override
+    AbstractEmployeeRepository open(GroupCommitPolicy groupCommitPolicy) {
+        return new EmployeeFileRepository(dir.resolve("employees.bin").toString(), new BinaryEmployeeCodec(),
+                Durability.FSYNC_DATA, groupCommitPolicy);
+    }
+
+    @Test
+    void rejectsOnlyTheEmployeeTheCodecCannotEncode() {
+        repository.save(employee(1, "One", 100, "HR"));
+
+        // writeUTF takes at most 65535 encoded bytes; three per character here
+        assertThrows(BusinessValidationException.class,
+                () -> repository.save(employee(2, "Two", 100, "€".repeat(30_000))));
+        repository.save(employee(3, "Three", 100, "x".repeat(60_000)));
+
+        restart();
+        assertEquals(2, repository.findAll().size());
+    }
+
+    @Test
+    void migratesAJsonDataFileOnce() throws Exception {
+        repository.close();
+        Path json = dir.resolve("employees.json");
+        Path binary = dir.resolve("employees.bin");
+        Files.delete(binary);
+        try (OutputStream out = Files.newOutputStream(json)) {
+            new JsonEmployeeCodec().write(List.of(employee(2, "Two", 200, "Sales"), employee(1, "One", 100, "HR")),
+                    out);
+        }
+
+        EmployeeFileRepository.migrate(json, new JsonEmployeeCodec(), binary, new BinaryEmployeeCodec(),
+                Durability.FSYNC_DATA);
+        repository = open(GroupCommitPolicy.defaults());
+        repository.delete(2);
+        EmployeeFileRepository.migrate(json, new JsonEmployeeCodec(), binary, new BinaryEmployeeCodec(),
+                Durability.FSYNC_DATA);
+        restart();
+
+        assertEquals(List.of(1), repository.findAll().stream().map(Employee::getId).toList());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.employeeservice.model;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeLogRepositoryTest extends EmployeeRepositoryContractTest {
+
+    private Path log() {
+        return dir.resolve("employees.log");
+    }
+
+    private Path nextLog() {
+        return dir.resolve("employees.log.next");
+    }
+
+    private Path snapshot() {
+        return dir.resolve("employees.snapshot");
+    }
+
+    @Override
+    AbstractEmployeeRepository open(GroupCommitPolicy groupCommitPolicy) {
+        return new EmployeeLogRepository(log().toString(), snapshot().toString(),
+                dir.resolve("employees.json").toString(), new JsonEmployeeCodec(), Durability.FSYNC_DATA,
+                groupCommitPolicy, LogCompactionPolicy.disabled(), new SimpleMeterRegistry());
+    }
+
+    private EmployeeLogRepository logRepository() {
+        return (EmployeeLogRepository) repository;
+    }
+
+    private void saveEmployees(int count) {
+        for (int id = 1; id <= count; id++) {
+            repository.save(employee(id, "Name" + id, 100 * id, DEPARTMENTS[id % DEPARTMENTS.length]));
+        }
+    }
+
+    private static List<Integer> idsIn(Path ndjson) throws IOException {
+        return Files.readAllLines(ndjson).stream()
+                .map(line -> Integer.parseInt(line.substring(line.indexOf(':') + 1, line.indexOf(','))))
+                .collect(Collectors.toList());
+    }
+
+    // A snapshot path the atomic writer cannot replace
+    private void blockSnapshot() throws IOException {
+        Files.deleteIfExists(snapshot());
+        Files.createDirectory(snapshot());
+        Files.writeString(snapshot().resolve("blocker"), "x");
+    }
+
+    private void unblockSnapshot() throws IOException {
+        Files.delete(snapshot().resolve("blocker"));
+        Files.delete(snapshot());
+    }
+
+    @Test
+    void compactionFoldsTheLogIntoTheSnapshot() throws Exception {
+        saveEmployees(20);
+        repository.delete(4);
+
+        logRepository().compact();
+
+        assertEquals(0, Files.size(log()));
+        assertFalse(Files.exists(nextLog()));
+        assertEquals(repository.findAll().stream().map(Employee::getId).collect(Collectors.toList()),
+                idsIn(snapshot()));
+        List<String> expected = describe(repository.findAll());
+        restart();
+        assertEquals(expected, describe(repository.findAll()));
+    }
+
+    @Test
+    void writesTheSeedSnapshotInIdOrderWithEachIdOnce() throws Exception {
+        repository.close();
+        Files.delete(log());
+        Files.delete(snapshot());
+        try (OutputStream out = Files.newOutputStream(dir.resolve("employees.json"))) {
+            new JsonEmployeeCodec().write(List.of(employee(5, "Five", 500, "HR"), employee(2, "Two", 200, "HR"),
+                    employee(5, "Later", 501, "HR")), out);
+        }
+
+        repository = open(GroupCommitPolicy.defaults());
+
+        assertEquals(List.of(2, 5), idsIn(snapshot()));
+        assertEquals("Later", repository.findById(5).getLastName());
+    }
+
+    @Test
+    void recoversAnInterruptedCompaction() throws Exception {
+        saveEmployees(6);
+        repository.close();
+        // As if the process died after rotating: newer records sit in ".next"
+        Files.writeString(nextLog(), "{\"type\":\"DELETE\",\"id\":2}\n");
+
+        repository = open(GroupCommitPolicy.defaults());
+
+        assertEquals(List.of(1, 3, 4, 5, 6), repository.findAll().stream().map(Employee::getId).toList());
+        assertFalse(Files.exists(nextLog()));
+        repository.delete(3);
+        restart();
+        assertEquals(List.of(1, 4, 5, 6), repository.findAll().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void dropsATornRecordAtTheEndOfTheLog() throws Exception {
+        saveEmployees(3);
+        repository.close();
+        try (FileChannel channel = FileChannel.open(log(), StandardOpenOption.APPEND)) {
+            Channels.newOutputStream(channel).write("{\"type\":\"PUT\",\"id\":9,\"emp".getBytes(
+                    StandardCharsets.UTF_8));
+        }
+
+        repository = open(GroupCommitPolicy.defaults());
+        repository.save(employee(4, "Four", 400, "HR"));
+        restart();
+
+        assertEquals(List.of(1, 2, 3, 4), repository.findAll().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void keepsTheLogWhenTheSnapshotCannotBeWritten() throws Exception {
+        saveEmployees(5);
+        blockSnapshot();
+
+        logRepository().compact();
+
+        assertFalse(Files.exists(nextLog()));
+        repository.delete(1);
+        unblockSnapshot();
+        List<String> expected = describe(repository.findAll());
+        restart();
+        assertEquals(expected, describe(repository.findAll()));
+    }
+
+    @Test
+    void resumesFromTheRotatedLogWhenRestoringItFails() throws Exception {
+        saveEmployees(5);
+        blockSnapshot();
+        // Without the old log the records appended to ".next" cannot be copied back
+        Path hidden = dir.resolve("hidden.log");
+        Files.move(log(), hidden);
+        logRepository().compact();
+        Files.move(hidden, log());
+        assertTrue(Files.exists(nextLog()));
+
+        repository.delete(2);
+        repository.save(employee(6, "Six", 600, "HR"));
+        unblockSnapshot();
+        // Must not rotate (and truncate) ".next" again: it is the live log
+        logRepository().compact();
+        repository.delete(3);
+
+        assertFalse(Files.exists(nextLog()));
+        List<String> expected = describe(repository.findAll());
+        restart();
+        assertEquals(expected, describe(repository.findAll()));
+        assertEquals(List.of(1, 4, 5, 6), repository.findAll().stream().map(Employee::getId).toList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.employeeservice.model;
+
+import com.example.employeeservice.exception.BusinessValidationException;
+import com.example.employeeservice.exception.DataAccessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeMappedRepositoryTest extends EmployeeRepositoryContractTest {
+
+    @Override
+    AbstractEmployeeRepository open(GroupCommitPolicy groupCommitPolicy) {
+        return new EmployeeMappedRepository(dir.resolve("employees.slots").toString(),
+                dir.resolve("employees.json").toString(), new JsonEmployeeCodec(), Durability.FSYNC_DATA,
+                groupCommitPolicy);
+    }
+
+    private void writeSeed(List<Employee> employees) throws IOException {
+        try (OutputStream out = Files.newOutputStream(dir.resolve("employees.json"))) {
+            new JsonEmployeeCodec().write(employees, out);
+        }
+    }
+
+    private Path slotFile() {
+        return dir.resolve("employees.slots");
+    }
+
+    // The committed sequence in the header (a long at offset 16)
+    private long committedSequence() throws IOException {
+        try (FileChannel channel = FileChannel.open(slotFile(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            channel.read(header, 16);
+            return header.flip().getLong();
+        }
+    }
+
+    private void deleteSlotFile() throws IOException {
+        repository.close();
+        Files.delete(dir.resolve("employees.slots"));
+    }
+
+    @Test
+    void seedsFromTheDataFileOnFirstStart() throws Exception {
+        deleteSlotFile();
+        writeSeed(List.of(employee(3, "Three", 300, "HR"), employee(1, "One", 100, "HR"),
+                employee(3, "Later", 301, "Sales")));
+
+        repository = open(GroupCommitPolicy.defaults());
+
+        assertEquals(List.of("One", "Later"), repository.findAll().stream().map(Employee::getLastName).toList());
+    }
+
+    @Test
+    void leavesNoFileBehindWhenSeedingFails() throws Exception {
+        deleteSlotFile();
+        writeSeed(List.of(employee(1, "One", 100, "HR"), employee(2, "Two", 200, "x".repeat(200))));
+
+        assertThrows(DataAccessException.class, () -> open(GroupCommitPolicy.defaults()));
+        assertFalse(Files.exists(dir.resolve("employees.slots")));
+
+        writeSeed(List.of(employee(1, "One", 100, "HR")));
+        repository = open(GroupCommitPolicy.defaults());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void rejectsFieldsThatDoNotFitASlot() {
+        assertThrows(BusinessValidationException.class,
+                () -> repository.save(employee(1, "One", 100, "x".repeat(151))));
+        repository.save(employee(2, "Two", 100, "x".repeat(150)));
+
+        restart();
+        assertEquals(List.of(2), repository.findAll().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void reusesFreedSlotsWithoutResurrectingOldVersions() {
+        for (int round = 0; round < 4; round++) {
+            for (int id = 1; id <= 40; id++) {
+                if (round % 2 == 1 && id % 3 == 0) {
+                    repository.delete(id);
+                } else if (repository.existsById(id)) {
+                    Employee changed = repository.findById(id);
+                    changed.setSalary(round * 1000 + id);
+                    repository.update(changed);
+                } else {
+                    repository.save(employee(id, "Name" + id, round * 1000 + id, "HR"));
+                }
+            }
+            List<String> expected = describe(repository.findAll());
+            restart();
+            assertEquals(expected, describe(repository.findAll()), "after round " + round);
+        }
+    }
+
+    @Test
+    void rewritesUpdatesInPlaceWithoutCommittingThroughTheHeader() throws Exception {
+        for (int id = 1; id <= 3; id++) {
+            repository.save(employee(id, "Name" + id, 100, "HR"));
+        }
+        long sequence = committedSequence();
+        long size = Files.size(slotFile());
+
+        for (int salary = 101; salary <= 110; salary++) {
+            Employee changed = repository.findById(2);
+            changed.setSalary(salary);
+            repository.update(changed);
+        }
+
+        assertEquals(sequence, committedSequence());
+        assertEquals(size, Files.size(slotFile()));
+        restart();
+        assertEquals(110, repository.findById(2).getSalary());
+        repository.delete(2);
+        assertEquals(sequence + 1, committedSequence());
+    }
+
+    @Test
+    void dropsAnEmployeeWhoseSlotWasTornOnRestart() throws Exception {
+        for (int id = 1; id <= 3; id++) {
+            repository.save(employee(id, "Name" + id, 100, "HR"));
+        }
+        Employee changed = repository.findById(2);
+        changed.setSalary(200);
+        repository.update(changed);
+        repository.close();
+        // As if a crash tore the rewrite: the salary changed after the CRC was computed
+        try (FileChannel channel = FileChannel.open(slotFile(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer slot = ByteBuffer.allocate(512);
+            for (long offset = 512; channel.read(slot.clear(), offset) == 512; offset += 512) {
+                if (slot.get(0) == 1 && slot.getInt(8) == 2) {
+                    channel.write(ByteBuffer.allocate(8).putDouble(0, 999), offset + 12);
+                }
+            }
+        }
+
+        repository = open(GroupCommitPolicy.defaults());
+
+        assertEquals(List.of(1, 3), repository.findAll().stream().map(Employee::getId).toList());
+    }
+}
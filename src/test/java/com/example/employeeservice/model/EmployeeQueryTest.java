@@ -0,0 +1,290 @@
+package com.example.employeeservice.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Every index-driven read compared against a brute-force filter and sort of findAll(), over random data
+// that is then changed a few times so the copy-on-write indexes are exercised as well
+class EmployeeQueryTest {
+    private static final String[] FIRST_NAMES = {"Anna", "Bo", "Carla", "Dmitri", "Eve", "Farid", "Gustavo"};
+    private static final String[] LAST_NAMES = {"Andersson", "Brown", "Chen", "Delacroix", "Ek", "Fuller", "Garcia"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "HR", "Finance", "Legal"};
+
+    @TempDir
+    Path dir;
+
+    private EmployeeFileRepository repository;
+    private final Random random = new Random(7);
+
+    @BeforeEach
+    void populate() {
+        repository = new EmployeeFileRepository(dir.resolve("employees.json").toString(), new JsonEmployeeCodec(),
+                Durability.NONE, GroupCommitPolicy.defaults());
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            employees.add(randomEmployee(id));
+        }
+        repository.saveAll(employees);
+    }
+
+    @AfterEach
+    void close() {
+        repository.close();
+    }
+
+    private Employee randomEmployee(int id) {
+        // Few distinct salaries and dates, so sort keys tie and the id tie-break matters
+        return new Employee(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)], LocalDate.of(1960 + random.nextInt(20), 1, 1),
+                1000 * (1 + random.nextInt(20)), LocalDate.of(2005 + random.nextInt(15), 1 + random.nextInt(12), 1),
+                // Mixed case: departments compare case-insensitively
+                random.nextInt(10) == 0
+                        ? DEPARTMENTS[random.nextInt(DEPARTMENTS.length)].toUpperCase(Locale.ROOT)
+                        : DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+    }
+
+    private void changeSome() {
+        for (int i = 0; i < 60; i++) {
+            int id = 1 + random.nextInt(450);
+            if (!repository.existsById(id)) {
+                repository.save(randomEmployee(id));
+            } else if (random.nextBoolean()) {
+                repository.delete(id);
+            } else {
+                repository.update(randomEmployee(id));
+            }
+        }
+    }
+
+    private EmployeeQuery randomQuery() {
+        EmployeeQuery query = new EmployeeQuery();
+        if (random.nextInt(4) == 0) {
+            String name = random.nextBoolean()
+                    ? FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]
+                    : LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int start = random.nextInt(name.length() - 1);
+            query.setName(name.substring(start, Math.min(name.length(), start + 2 + random.nextInt(3)))
+                    .toLowerCase(Locale.ROOT));
+        }
+        if (random.nextInt(3) == 0) {
+            query.setMinSalary((double) 1000 * random.nextInt(12));
+        }
+        if (random.nextInt(3) == 0) {
+            double floor = query.getMinSalary() == null ? 0 : query.getMinSalary();
+            query.setMaxSalary(floor + 1000 * random.nextInt(14));
+        }
+        if (random.nextInt(3) == 0) {
+            query.setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)].toLowerCase(Locale.ROOT));
+        }
+        if (random.nextInt(4) == 0) {
+            query.setJoinedFrom(LocalDate.of(2005 + random.nextInt(10), 1, 1));
+        }
+        if (random.nextInt(4) == 0) {
+            query.setJoinedTo(LocalDate.of(2010 + random.nextInt(10), 6, 15));
+        }
+        return query;
+    }
+
+    private EmployeeQuery randomSortedQuery() {
+        EmployeeQuery query = randomQuery();
+        query.setSort(EmployeeSort.values()[random.nextInt(EmployeeSort.values().length)]);
+        return query;
+    }
+
+    private List<Employee> bruteForce(Predicate<Employee> filter, Comparator<Employee> order) {
+        return repository.findAll().stream().filter(filter).sorted(order).collect(Collectors.toList());
+    }
+
+    private List<Integer> expectedIds(EmployeeQuery query) {
+        return ids(bruteForce(query::matches, query.getSort().getOrder()));
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void departmentLookupsMatchABruteForceScan() {
+        for (int round = 0; round < 3; round++) {
+            for (String department : DEPARTMENTS) {
+                String spelling = random.nextBoolean() ? department.toLowerCase(Locale.ROOT) : department;
+                assertEquals(ids(bruteForce(employee -> employee.getDepartment().equalsIgnoreCase(department),
+                        EmployeeSort.ID.getOrder())), ids(repository.findByDepartment(spelling)), department);
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void salaryRangeLookupsMatchABruteForceScan() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 20; i++) {
+                double from = 1000 * random.nextInt(20);
+                double to = from + 1000 * random.nextInt(8);
+                assertEquals(ids(bruteForce(employee -> employee.getSalary() >= from && employee.getSalary() <= to,
+                        EmployeeSort.SALARY.getOrder())), ids(repository.findBySalaryRange(from, to)));
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void keepsTheSalaryOrderWhenManyEmployeesShareASalary() {
+        for (int id = 1; id <= 400; id++) {
+            Employee employee = new Employee(repository.findById(id));
+            employee.setSalary(5000);
+            repository.update(employee);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 40; i++) {
+                int id = 1 + random.nextInt(450);
+                if (!repository.existsById(id)) {
+                    continue;
+                }
+                if (random.nextBoolean()) {
+                    repository.delete(id);
+                } else {
+                    Employee employee = new Employee(repository.findById(id));
+                    employee.setSalary(random.nextBoolean() ? 5000 : 4000 + 1000 * random.nextInt(3));
+                    repository.update(employee);
+                }
+            }
+            assertEquals(ids(bruteForce(employee -> true, EmployeeSort.SALARY.getOrder())),
+                    ids(repository.findBySalaryRange(null, null)));
+            assertEquals(ids(bruteForce(employee -> employee.getSalary() == 5000, EmployeeSort.SALARY.getOrder())),
+                    ids(repository.findBySalaryRange(5000.0, 5000.0)));
+        }
+    }
+
+    @Test
+    void nameSearchesMatchABruteForceScan() {
+        for (int round = 0; round < 3; round++) {
+            for (String name : LAST_NAMES) {
+                String term = name.substring(0, 2);
+                assertEquals(ids(bruteForce(employee -> containsIgnoreCase(employee.getFirstName(), term)
+                                || containsIgnoreCase(employee.getLastName(), term), EmployeeSort.ID.getOrder())),
+                        ids(repository.findByNameContaining(term)), term);
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void queriesMatchABruteForceScan() {
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 150; i++) {
+                EmployeeQuery query = randomQuery();
+                assertEquals(expectedIds(query), ids(repository.findByQuery(query).getEmployees()), query.toString());
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void cursorPagesAddUpToTheSortedResult() {
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 150; i++) {
+                EmployeeQuery query = randomSortedQuery();
+                int limit = 1 + random.nextInt(40);
+                List<Integer> paged = new ArrayList<>();
+                EmployeeQuery pageQuery = query.copy();
+                pageQuery.setLimit(limit);
+                while (true) {
+                    EmployeePage page = repository.findByQuery(pageQuery);
+                    paged.addAll(ids(page.getEmployees()));
+                    if (!page.hasNext()) {
+                        break;
+                    }
+                    assertEquals(limit, page.getEmployees().size(), "only the last page may be short");
+                    pageQuery.setAfter(EmployeeCursor.decode(page.getNextCursor()));
+                }
+                assertEquals(expectedIds(query), paged, query.toString());
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void unlimitedQueryReturnsEverythingInOnePage() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setSort(EmployeeSort.SALARY);
+
+        EmployeePage page = repository.findByQuery(query);
+
+        assertEquals(ids(bruteForce(employee -> true, EmployeeSort.SALARY.getOrder())), ids(page.getEmployees()));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void iteratesQueriesInSortOrder() {
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 50; i++) {
+                EmployeeQuery query = randomSortedQuery();
+                List<Integer> iterated = new ArrayList<>();
+                Iterator<Employee> iterator = repository.iterateByQuery(query.copy());
+                iterator.forEachRemaining(employee -> iterated.add(employee.getId()));
+                assertEquals(expectedIds(query), iterated, query.toString());
+            }
+            changeSome();
+        }
+    }
+
+    @Test
+    void salaryReportMatchesABruteForceScan() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 30; i++) {
+                EmployeeQuery query = randomQuery();
+                query.setName(null);
+                List<Employee> matching = bruteForce(query::matches, EmployeeSort.ID.getOrder());
+
+                SalaryReport report = repository.salaryReport(query);
+
+                assertStatistics(matching, report.getOverall());
+                for (String department : DEPARTMENTS) {
+                    List<Employee> inDepartment = matching.stream()
+                            .filter(employee -> employee.getDepartment().equalsIgnoreCase(department))
+                            .collect(Collectors.toList());
+                    SalaryStatistics statistics = report.getByDepartment().get(department);
+                    if (inDepartment.isEmpty()) {
+                        assertNull(statistics, department);
+                    } else {
+                        assertStatistics(inDepartment, statistics);
+                    }
+                }
+            }
+            changeSome();
+        }
+    }
+
+    private static void assertStatistics(List<Employee> employees, SalaryStatistics statistics) {
+        assertEquals(employees.size(), statistics.getCount());
+        assertEquals(employees.stream().mapToDouble(Employee::getSalary).sum(), statistics.getTotal(), 0.001);
+        if (!employees.isEmpty()) {
+            assertEquals(employees.stream().mapToDouble(Employee::getSalary).min().getAsDouble(),
+                    statistics.getMin(), 0.001);
+            assertEquals(employees.stream().mapToDouble(Employee::getSalary).max().getAsDouble(),
+                    statistics.getMax(), 0.001);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String value, String term) {
+        return value.toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT));
+    }
+}
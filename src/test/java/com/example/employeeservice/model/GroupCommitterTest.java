@@ -0,0 +1,146 @@
+package com.example.employeeservice.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupCommitterTest {
+    private static final String THREAD_NAME = "group-committer-test";
+
+    private GroupCommitter<Integer, Integer> committer;
+
+    private GroupCommitter<Integer, Integer> start(Consumer<List<GroupCommitter.Entry<Integer, Integer>>> handler) {
+        committer = new GroupCommitter<>(THREAD_NAME, new GroupCommitPolicy(16, Duration.ofMillis(5)), handler);
+        return committer;
+    }
+
+    @AfterEach
+    void close() {
+        committer.close();
+    }
+
+    private static void completeAll(List<GroupCommitter.Entry<Integer, Integer>> batch) {
+        for (GroupCommitter.Entry<Integer, Integer> entry : batch) {
+            entry.complete(entry.getRequest() * 10);
+        }
+    }
+
+    private static Throwable failureOf(CompletableFuture<Integer> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+
+    private static Thread committerThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals(THREAD_NAME))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void completesEveryRequestOfABatch() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        start(batch -> {
+            batchSizes.add(batch.size());
+            completeAll(batch);
+        });
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            results.add(committer.submit(i));
+        }
+
+        for (int i = 1; i <= 40; i++) {
+            assertEquals(i * 10, results.get(i - 1).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 16), batchSizes.toString());
+    }
+
+    @Test
+    void failsOnlyTheBatchWhoseHandlerThrows() throws Exception {
+        start(batch -> {
+            if (batch.get(0).getRequest() == 1) {
+                throw new IllegalStateException("disk full");
+            }
+            completeAll(batch);
+        });
+
+        Throwable failure = failureOf(committer.submit(1));
+
+        assertEquals("disk full", failure.getMessage());
+        assertEquals(20, committer.submit(2).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void survivesErrorsFromTheHandler() throws Exception {
+        start(batch -> {
+            if (batch.get(0).getRequest() == 1) {
+                throw new StackOverflowError();
+            }
+            completeAll(batch);
+        });
+
+        assertTrue(failureOf(committer.submit(1)) instanceof StackOverflowError);
+        assertEquals(20, committer.submit(2).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsRequestsTheHandlerLeftIncomplete() {
+        start(batch -> {
+        });
+
+        assertTrue(failureOf(committer.submit(1)) instanceof IllegalStateException);
+    }
+
+    @Test
+    void failsQueuedRequestsWhenTheCommitterThreadStops() throws Exception {
+        CountDownLatch inHandler = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        start(batch -> {
+            if (batch.get(0).getRequest() == 1) {
+                inHandler.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            completeAll(batch);
+        });
+        CompletableFuture<Integer> first = committer.submit(1);
+        assertTrue(inHandler.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = committer.submit(2);
+
+        Thread thread = committerThread();
+        thread.interrupt();
+        thread.join(5000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(10, first.get(5, TimeUnit.SECONDS));
+        assertTrue(failureOf(queued) instanceof IllegalStateException);
+        assertTrue(failureOf(committer.submit(3)) instanceof IllegalStateException);
+    }
+
+    @Test
+    void commitsWhatIsQueuedBeforeClosing() throws Exception {
+        start(GroupCommitterTest::completeAll);
+        CompletableFuture<Integer> queued = committer.submit(1);
+
+        committer.close();
+
+        assertEquals(10, queued.get(5, TimeUnit.SECONDS));
+        assertTrue(failureOf(committer.submit(2)) instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.EmployeePage;
+import com.example.employeeservice.model.EmployeeQuery;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// Caching through EmployeeService over a real repository: repeated reads are served from the cache (the
+// same instance comes back), and every write invalidates exactly what it could have changed
+class EmployeeCacheTest {
+    @TempDir
+    Path dir;
+
+    private EmployeeFileRepository repository;
+    private EmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EmployeeFileRepository(dir.resolve("employees.json").toString(), new JsonEmployeeCodec(),
+                Durability.NONE, GroupCommitPolicy.defaults());
+        for (int id = 1; id <= 20; id++) {
+            repository.save(employee(id, 1000 * id, id % 2 == 0 ? "Engineering" : "Sales"));
+        }
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.setEnableCaching(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new EmployeeService(repository, Runnable::run,
+                new EmployeeCache(properties, repository, meterRegistry), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private static Employee employee(int id, double salary, String department) {
+        return new Employee(id, "First", "Last" + id, LocalDate.of(1980, 1, 1), salary, LocalDate.of(2010, 1, 1),
+                department);
+    }
+
+    private static EmployeeQuery department(String department) {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setDepartment(department);
+        return query;
+    }
+
+    private EmployeePage list(EmployeeQuery query) {
+        return service.getEmployees(query, null, null, null);
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private void updateSalary(int id, double salary) {
+        Employee changes = new Employee();
+        changes.setSalary(salary);
+        service.updateEmployee(id, changes);
+    }
+
+    @Test
+    void refreshesACachedEmployeeAfterItIsUpdated() {
+        assertEquals(3000, service.getEmployeeById(3).getSalary());
+
+        updateSalary(3, 3500);
+
+        assertEquals(3500, service.getEmployeeById(3).getSalary());
+    }
+
+    @Test
+    void handsOutCopiesOfCachedEmployees() {
+        service.getEmployeeById(3).setSalary(1);
+
+        assertEquals(3000, service.getEmployeeById(3).getSalary());
+    }
+
+    @Test
+    void invalidatesBothDepartmentsWhenAnEmployeeMoves() {
+        List<Employee> sales = service.getEmployeesByDepartment("Sales");
+        List<Employee> engineering = service.getEmployeesByDepartment("engineering");
+        assertSame(sales, service.getEmployeesByDepartment("sales"));
+
+        Employee move = new Employee();
+        move.setDepartment("Engineering");
+        service.updateEmployee(1, move);
+
+        assertEquals(9, service.getEmployeesByDepartment("Sales").size());
+        assertEquals(11, service.getEmployeesByDepartment("Engineering").size());
+        assertNotSame(engineering, service.getEmployeesByDepartment("Engineering"));
+    }
+
+    @Test
+    void keepsQueriesTheChangeCannotAffect() {
+        EmployeePage sales = list(department("Sales"));
+        EmployeePage engineering = list(department("Engineering"));
+
+        updateSalary(2, 2500);
+
+        assertSame(sales, list(department("Sales")));
+        EmployeePage refreshed = list(department("Engineering"));
+        assertNotSame(engineering, refreshed);
+        assertEquals(2500, refreshed.getEmployees().get(0).getSalary());
+    }
+
+    @Test
+    void invalidatesQueriesAnEmployeeEntersOrLeaves() {
+        EmployeeQuery wellPaid = new EmployeeQuery();
+        wellPaid.setMinSalary(15000.0);
+        assertEquals(List.of(15, 16, 17, 18, 19, 20), ids(list(wellPaid).getEmployees()));
+
+        updateSalary(1, 50000);
+        updateSalary(20, 100);
+        service.deleteEmployee(16);
+
+        EmployeeQuery again = new EmployeeQuery();
+        again.setMinSalary(15000.0);
+        assertEquals(List.of(1, 15, 17, 18, 19), ids(list(again).getEmployees()));
+    }
+
+    @Test
+    void dropsAllQueriesAfterABulkChange() {
+        EmployeePage sales = list(department("Sales"));
+        List<Employee> imported = new ArrayList<>();
+        for (int id = 101; id <= 200; id++) {
+            imported.add(employee(id, 500, "Sales"));
+        }
+
+        repository.saveAll(imported);
+
+        EmployeePage refreshed = list(department("Sales"));
+        assertNotSame(sales, refreshed);
+        assertEquals(110, refreshed.getEmployees().size());
+    }
+
+    @Test
+    void notifiesCachesBeforeTheVersionsMove() {
+        long[] seen = new long[2];
+        repository.addChangeListener(changes -> {
+            seen[0] = repository.version();
+            seen[1] = repository.departmentVersion("Sales");
+        });
+        long version = repository.version();
+        long salesVersion = repository.departmentVersion("Sales");
+
+        updateSalary(1, 1500);
+
+        // A reader that sees the new version must not find the entries the batch made stale
+        assertEquals(version, seen[0]);
+        assertEquals(salesVersion, seen[1]);
+        assertEquals(version + 1, repository.version());
+        assertEquals(version + 1, repository.departmentVersion("sales"));
+        assertEquals(version + 1, service.getEmployeesVersion(" Sales "));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.config.ApplicationProperties;
+import com.example.employeeservice.model.Durability;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeFileRepository;
+import com.example.employeeservice.model.GroupCommitPolicy;
+import com.example.employeeservice.model.JsonEmployeeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeJsonCacheTest {
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private EmployeeFileRepository repository;
+    private EmployeeJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = new EmployeeFileRepository(dir.resolve("employees.json").toString(), new JsonEmployeeCodec(),
+                Durability.NONE, GroupCommitPolicy.defaults());
+        for (int id = 1; id <= 20; id++) {
+            repository.save(new Employee(id, "First", "Last" + id, LocalDate.of(1980, 1, 1), 1000 * id,
+                    LocalDate.of(2010, 1, 1), "Sales"));
+        }
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.setEnableCaching(true);
+        properties.setCacheMaxEntries(16);
+        cache = new EmployeeJsonCache(properties, repository, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void sharesOneRenderingBetweenTheStoredEmployeeAndUnchangedCopies() throws Exception {
+        Employee copy = repository.findById(3);
+
+        byte[] json = cache.toJson(copy);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(copy), json);
+        assertSame(json, cache.toJson(repository.findById(3)));
+        assertSame(json, cache.toJson(repository.findAll().get(2)));
+    }
+
+    @Test
+    void rendersAChangedCopyAfresh() throws Exception {
+        byte[] stored = cache.toJson(repository.findById(3));
+        Employee changed = repository.findById(3);
+        changed.setSalary(3500);
+
+        byte[] json = cache.toJson(changed);
+
+        assertNotSame(stored, json);
+        assertArrayEquals(objectMapper.writeValueAsBytes(changed), json);
+    }
+
+    @Test
+    void dropsEntriesOfUpdatedAndDeletedEmployees() throws Exception {
+        byte[] before = cache.toJson(repository.findById(3));
+        cache.toJson(repository.findById(4));
+        Employee changed = repository.findById(3);
+        changed.setSalary(3500);
+
+        repository.update(changed);
+        repository.delete(4);
+
+        assertEquals(0, cache.size());
+        byte[] after = cache.toJson(repository.findById(3));
+        assertNotSame(before, after);
+        assertArrayEquals(objectMapper.writeValueAsBytes(repository.findById(3)), after);
+    }
+
+    @Test
+    void staysWithinItsBound() throws Exception {
+        for (int round = 0; round < 3; round++) {
+            byte[] page = cache.toJsonArray(repository.findAll());
+            assertArrayEquals(objectMapper.writeValueAsBytes(repository.findAll()), page);
+        }
+
+        assertTrue(cache.size() <= 16, "size " + cache.size());
+    }
+}
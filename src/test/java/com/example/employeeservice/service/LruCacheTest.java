@@ -0,0 +1,52 @@
+package com.example.employeeservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+    private final AtomicLong generation = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LruCache<Integer, String> cache = new LruCache<>("test", 64, generation, meterRegistry);
+
+    private String get(int key) {
+        return cache.get(key, () -> "value" + key);
+    }
+
+    @Test
+    void keepsRecentlyUsedEntriesWhenEvicting() {
+        for (int key = 0; key < 64; key++) {
+            get(key);
+        }
+        for (int round = 0; round < 10; round++) {
+            get(0); // stays hot
+            for (int key = 0; key < 8; key++) {
+                get(1000 + round * 8 + key);
+            }
+        }
+
+        assertTrue(cache.size() <= 64, "size " + cache.size());
+        assertEquals(cache.size() + meterRegistry.counter("employee.cache.evictions", "cache", "test").count(),
+                64 + 80, 0.0001);
+        double misses = meterRegistry.counter("employee.cache.misses", "cache", "test").count();
+        get(0);
+        assertEquals(misses, meterRegistry.counter("employee.cache.misses", "cache", "test").count(), 0.0001);
+    }
+
+    @Test
+    void dropsAValueLoadedAcrossAnInvalidation() {
+        cache.get(1, () -> {
+            generation.incrementAndGet();
+            cache.invalidate(1);
+            return "stale";
+        });
+
+        assertEquals(0, cache.size());
+        assertEquals("value1", get(1));
+        assertEquals("value1", cache.get(1, () -> "reloaded"));
+    }
+}
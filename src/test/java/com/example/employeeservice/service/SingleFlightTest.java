@@ -0,0 +1,111 @@
+package com.example.employeeservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>("test", new SimpleMeterRegistry());
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    // Starts a flight at the given version that blocks until released
+    private Future<Integer> startBlockingFlight(long version, int result) throws InterruptedException {
+        Future<Integer> first = callers.submit(() -> flights.run("key", version, () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return first;
+    }
+
+    // The coalesced count moves just before a caller starts waiting on the flight
+    private void awaitJoined() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.coalescingRatio() == 0) {
+            assertTrue(System.nanoTime() < deadline, "no caller joined the flight");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void sharesAFlightStartedAtTheSameVersion() throws Exception {
+        Future<Integer> first = startBlockingFlight(3, 42);
+        Future<Integer> second = callers.submit(() -> flights.run("key", 3, () -> {
+            computations.incrementAndGet();
+            return -1;
+        }));
+        awaitJoined();
+
+        release.countDown();
+
+        assertEquals(42, first.get(5, TimeUnit.SECONDS));
+        assertEquals(42, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0.5, flights.coalescingRatio(), 0.0001);
+    }
+
+    @Test
+    void neverSharesAFlightStartedBeforeTheCallersVersion() throws Exception {
+        Future<Integer> first = startBlockingFlight(3, 42);
+
+        // Runs on its own instead of waiting for the older flight
+        assertEquals(7, flights.run("key", 4, () -> 7));
+
+        release.countDown();
+        assertEquals(42, first.get(5, TimeUnit.SECONDS));
+        assertEquals(0, flights.coalescingRatio(), 0.0001);
+    }
+
+    @Test
+    void sharesTheFailureWithEveryWaiter() throws Exception {
+        Future<Integer> first = callers.submit(() -> flights.run("key", 1, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("broken");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Integer> second = callers.submit(() -> flights.run("key", 1, () -> 1));
+        awaitJoined();
+
+        release.countDown();
+
+        for (Future<Integer> caller : new Future[] {first, second}) {
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> caller.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof IllegalStateException, failure.toString());
+        }
+        // Nothing is kept once the flight is over
+        assertEquals(5, flights.run("key", 1, () -> 5));
+    }
+}